@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.lifecycle;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.lifecycle.ShutdownReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphShutdownBenchmark {
+
+    @Param({"16"})
+    public int width;
+
+    @Param({"1"})
+    public int closeMillis;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        this.executor = Executors.newFixedThreadPool(this.width);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.shutdown();
+    }
+
+    @Benchmark
+    public AbstractOpenable sequentialClose() {
+        final AbstractOpenable graph = this.newGraph();
+        graph.close();
+        return graph;
+    }
+
+    @Benchmark
+    public ShutdownReport parallelShutdown() {
+        return this.newGraph().shutdown(this.executor, 1L, TimeUnit.MINUTES);
+    }
+
+    private AbstractOpenable newGraph() {
+        final long closeNanos = TimeUnit.MILLISECONDS.toNanos(this.closeMillis);
+        final Openable[] services = new Openable[this.width];
+        for (int i = 0; i < services.length; i++) {
+            services[i] = new SlowClose(closeNanos, new SlowClose(closeNanos));
+        }
+        final AbstractOpenable root = new SlowClose(closeNanos, services);
+        root.init();
+        root.open();
+        return root;
+    }
+
+    private static final class SlowClose extends AbstractOpenable {
+        private final long closeNanos;
+
+        private SlowClose(final long closeNanos, final Openable... dependencies) {
+            super(dependencies);
+            this.closeNanos = closeNanos;
+        }
+
+        @Override
+        protected void performClose() {
+            LockSupport.parkNanos(this.closeNanos);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.lifecycle;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.OpenMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenModeBenchmark {
+
+    @Param({"eager", "lazy", "idleClose"})
+    public String mode;
+
+    private Guarded openable;
+
+    @Setup
+    public void setUp() {
+        this.openable = new Guarded(openMode(this.mode));
+        this.openable.init();
+        this.openable.open();
+        this.openable.use();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.openable.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int checkOpen_01() {
+        return this.openable.use();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int checkOpen_16() {
+        return this.openable.use();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean startup() {
+        final Guarded startup = new Guarded(openMode(this.mode));
+        startup.init();
+        startup.open();
+        final boolean result = startup.isOpen();
+        startup.close();
+        return result;
+    }
+
+    private static OpenMode openMode(final String mode) {
+        switch (mode) {
+            case "lazy":
+                return OpenMode.lazy();
+            case "idleClose":
+                return OpenMode.idleClose(1L, TimeUnit.MINUTES);
+            default:
+                return OpenMode.eager();
+        }
+    }
+
+    private static final class Guarded extends AbstractOpenable {
+        private volatile int[] table;
+
+        private Guarded(final OpenMode openMode) {
+            super(openMode);
+        }
+
+        private int use() {
+            this.checkOpen();
+            return this.table.length;
+        }
+
+        @Override
+        protected void performOpen() {
+            this.table = new int[1 << 20];
+        }
+
+        @Override
+        protected void performClose() {
+            this.table = null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.lifecycle;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.lifecycle.SimpleOpenable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenableGraphBenchmark {
+
+    @Param({"deep", "wide"})
+    public String shape;
+
+    @Param({"16", "256"})
+    public int size;
+
+    private AbstractOpenable root;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.root = this.newGraph();
+        this.root.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.root.close();
+        this.executor.shutdown();
+    }
+
+    @Benchmark
+    public AbstractOpenable initOpenClose() {
+        final AbstractOpenable graph = this.newGraph();
+        graph.init();
+        graph.open();
+        graph.close();
+        return graph;
+    }
+
+    @Benchmark
+    public AbstractOpenable initOpenCloseParallel() {
+        final AbstractOpenable graph = this.newGraph();
+        graph.init(this.executor);
+        graph.open(this.executor);
+        graph.close();
+        return graph;
+    }
+
+    @Benchmark
+    public boolean openClose() {
+        this.root.open();
+        this.root.close();
+        return this.root.isOpen();
+    }
+
+    private AbstractOpenable newGraph() {
+        if ("deep".equals(this.shape)) {
+            AbstractOpenable current = new Node();
+            for (int i = 1; i < this.size; i++) {
+                current = new Node(current);
+            }
+            return current;
+        }
+        final Openable[] leaves = new Openable[this.size];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = new SimpleOpenable(null);
+        }
+        return new Node(leaves);
+    }
+
+    private static final class Node extends AbstractOpenable {
+        private Node(final Openable... dependencies) {
+            super(dependencies);
+        }
+    }
+}
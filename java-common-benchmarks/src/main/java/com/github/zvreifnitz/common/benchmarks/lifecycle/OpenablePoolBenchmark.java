@@ -0,0 +1,77 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.lifecycle;
+
+import com.github.zvreifnitz.common.lifecycle.OpenablePool;
+import com.github.zvreifnitz.common.lifecycle.SimpleOpenable;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+public class OpenablePoolBenchmark {
+
+    @Param({"8", "32"})
+    public int maxSize;
+
+    private ScheduledExecutorService scheduler;
+    private OpenablePool<SimpleOpenable> pool;
+    private BlockingQueue<SimpleOpenable> queue;
+
+    @Setup
+    public void setUp() {
+        this.scheduler = OpenableExecutors.openableScheduledExecutorService(() -> Executors.newScheduledThreadPool(1));
+        this.pool = new OpenablePool<>(() -> new SimpleOpenable(null), this.maxSize, this.maxSize, this.scheduler);
+        this.pool.init();
+        this.pool.open();
+        this.queue = new ArrayBlockingQueue<>(this.maxSize);
+        for (int i = 0; i < this.maxSize; i++) {
+            this.queue.add(new SimpleOpenable(null));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.close();
+    }
+
+    @Benchmark
+    public Object borrowAndReturn() throws InterruptedException {
+        try (OpenablePool.Lease<SimpleOpenable> lease = this.pool.tryBorrow(1L, TimeUnit.SECONDS)) {
+            return lease.get();
+        }
+    }
+
+    @Benchmark
+    public Object blockingQueueBaseline() throws InterruptedException {
+        final SimpleOpenable element = this.queue.take();
+        this.queue.put(element);
+        return element;
+    }
+}
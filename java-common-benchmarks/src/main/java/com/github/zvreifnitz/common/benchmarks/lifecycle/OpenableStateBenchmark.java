@@ -0,0 +1,83 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.lifecycle;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.EmptyOpenable;
+import com.github.zvreifnitz.common.lifecycle.SimpleOpenable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenableStateBenchmark {
+
+    private AbstractOpenable openable;
+    private EmptyOpenable owner;
+
+    @Setup
+    public void setUp() {
+        this.openable = new SimpleOpenable(null);
+        this.openable.init();
+        this.openable.open();
+        this.owner = new EmptyOpenable();
+        this.openable.initAsDependency(this.owner);
+        this.openable.openAsDependency(this.owner);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.openable.closeAsDependency(this.owner);
+        this.openable.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean isOpen_01() {
+        return this.openable.isOpen();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean isOpen_04() {
+        return this.openable.isOpen();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean isOpen_16() {
+        return this.openable.isOpen();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean isOpen_64() {
+        return this.openable.isOpen();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean isOpenAsDependency_64() {
+        return this.openable.isOpenAsDependency(this.owner);
+    }
+}
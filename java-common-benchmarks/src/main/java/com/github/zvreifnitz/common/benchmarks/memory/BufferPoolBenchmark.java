@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.memory;
+
+import com.github.zvreifnitz.common.memory.OpenableBufferPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferPoolBenchmark {
+
+    @Param({"1024", "16384"})
+    public int size;
+
+    private OpenableBufferPool pool;
+
+    @Setup
+    public void setUp() {
+        this.pool = new OpenableBufferPool(512, 65536, 1 << 20, 64L << 20);
+        this.pool.init();
+        this.pool.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allocateDirect() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(this.size);
+        buffer.putLong(0, System.nanoTime());
+        return buffer.getLong(0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long pooled() {
+        final OpenableBufferPool.PooledBuffer buffer = this.pool.acquire(this.size);
+        try {
+            final ByteBuffer memory = buffer.get();
+            memory.putLong(0, System.nanoTime());
+            return memory.getLong(0);
+        } finally {
+            buffer.release();
+        }
+    }
+}
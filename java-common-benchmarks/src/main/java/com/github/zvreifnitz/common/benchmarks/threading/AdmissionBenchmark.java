@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.AdmissionPolicy;
+import com.github.zvreifnitz.common.threading.ExecutorClosePolicy;
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AdmissionBenchmark {
+
+    @Param({"none", "blockWithTimeout", "callerRuns", "codel"})
+    public String policy;
+
+    @Param({"2"})
+    public int poolSize;
+
+    @Param({"2000"})
+    public int tokens;
+
+    @Param({"4"})
+    public int maxQueued;
+
+    private OpenableExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        this.executor = ("none".equals(this.policy)
+                ? OpenableExecutors.openableExecutorService(() -> newPool(this.poolSize))
+                : OpenableExecutors.openableExecutorService(
+                () -> newPool(this.poolSize), ExecutorClosePolicy.awaitTermination(), this.newPolicy()));
+        this.executor.init();
+        this.executor.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.close();
+    }
+
+    @Benchmark
+    public Object overloadedSubmit(final Outcomes outcomes) throws Exception {
+        final int work = this.tokens;
+        final Thread caller = Thread.currentThread();
+        final Future<Integer> future;
+        try {
+            future = this.executor.submit(() -> {
+                Blackhole.consumeCPU(work);
+                if (Thread.currentThread() == caller) {
+                    outcomes.callerRuns++;
+                }
+                return work;
+            });
+        } catch (final RejectedExecutionException exc) {
+            outcomes.shed++;
+            return exc;
+        }
+        return future.get();
+    }
+
+    private AdmissionPolicy newPolicy() {
+        switch (this.policy) {
+            case "blockWithTimeout":
+                return AdmissionPolicy.blockWithTimeout(this.maxQueued, 1L, TimeUnit.MILLISECONDS);
+            case "callerRuns":
+                return AdmissionPolicy.callerRuns(this.maxQueued);
+            default:
+                return AdmissionPolicy.codel(200L, 100_000L, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private static ExecutorService newPool(final int poolSize) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long shed;
+        public long callerRuns;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.shed = 0L;
+            this.callerRuns = 0L;
+        }
+    }
+}
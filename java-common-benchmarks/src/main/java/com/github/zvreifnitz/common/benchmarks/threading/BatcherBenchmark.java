@@ -0,0 +1,80 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableBatcher;
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatcherBenchmark {
+
+    private static final long CALL_COST = 2000L;
+    private static final long ITEM_COST = 20L;
+
+    @Param({"16", "256"})
+    public int batchSize;
+
+    private OpenableExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private OpenableBatcher<Long> batcher;
+
+    @Setup
+    public void setUp() {
+        this.executor = OpenableExecutors.openableExecutorService(() -> Executors.newFixedThreadPool(1));
+        this.scheduler = OpenableExecutors.openableScheduledExecutorService(() -> Executors.newScheduledThreadPool(1));
+        this.batcher = OpenableExecutors.openableBatcher(
+                this.executor, this.scheduler, BatcherBenchmark::write, this.batchSize, 5L, TimeUnit.MILLISECONDS);
+        this.batcher.init();
+        this.batcher.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.batcher.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void perItem() {
+        write(Collections.singletonList(System.nanoTime()));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void batched() throws InterruptedException {
+        this.batcher.put(System.nanoTime());
+    }
+
+    private static void write(final List<Long> batch) {
+        Blackhole.consumeCPU(CALL_COST + (ITEM_COST * batch.size()));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.ExpiredTaskPolicy;
+import com.github.zvreifnitz.common.threading.OpenableDeadlineExecutor;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DeadlineExecutorBenchmark {
+
+    private static final int BATCH = 128;
+
+    @Param({"fifo", "priorityBlockingQueue", "deadline"})
+    public String executorType;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private ThreadPoolExecutor pool;
+    private OpenableDeadlineExecutor deadline;
+
+    @Setup
+    public void setUp() {
+        if ("deadline".equals(this.executorType)) {
+            this.deadline = OpenableExecutors.openableDeadlineExecutor(
+                    this.poolSize, 1L, TimeUnit.MILLISECONDS, ExpiredTaskPolicy.RUN_LATE);
+            this.deadline.init();
+            this.deadline.open();
+        } else {
+            final BlockingQueue<Runnable> queue = ("fifo".equals(this.executorType)
+                    ? new LinkedBlockingQueue<>() : new PriorityBlockingQueue<>(1024, DeadlineExecutorBenchmark::compare));
+            this.pool = new ThreadPoolExecutor(this.poolSize, this.poolSize, 0L, TimeUnit.MILLISECONDS, queue);
+            this.pool.prestartAllCoreThreads();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (this.deadline != null) {
+            this.deadline.close();
+        } else {
+            this.pool.shutdown();
+            this.pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void executeBatch() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            if (this.deadline != null) {
+                this.deadline.executeBefore(latch::countDown, 10L + (i & 7), TimeUnit.MILLISECONDS);
+            } else {
+                this.pool.execute(new PrioritizedTask(latch, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10L + (i & 7))));
+            }
+        }
+        latch.await();
+    }
+
+    private static int compare(final Runnable left, final Runnable right) {
+        return Long.compare(((PrioritizedTask)left).deadline, ((PrioritizedTask)right).deadline);
+    }
+
+    private static final class PrioritizedTask implements Runnable {
+        private final CountDownLatch latch;
+        private final long deadline;
+
+        private PrioritizedTask(final CountDownLatch latch, final long deadline) {
+            this.latch = latch;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            this.latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorSubmitBenchmark {
+
+    private static final int BATCH = 128;
+
+    @Param({"raw", "openable", "instrumented"})
+    public String executorType;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private ExecutorService raw;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        if ("openable".equals(this.executorType) || "instrumented".equals(this.executorType)) {
+            final OpenableExecutorService openable = ("instrumented".equals(this.executorType)
+                    ? OpenableExecutors.instrumentedExecutorService(() -> newPool(this.poolSize), "submit-benchmark")
+                    : OpenableExecutors.openableExecutorService(() -> newPool(this.poolSize)));
+            openable.init();
+            openable.open();
+            this.executor = openable;
+        } else {
+            this.raw = newPool(this.poolSize);
+            this.executor = this.raw;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (this.raw != null) {
+            this.raw.shutdown();
+            this.raw.awaitTermination(1, TimeUnit.MINUTES);
+        } else {
+            ((OpenableExecutorService)this.executor).close();
+        }
+    }
+
+    @Benchmark
+    public Object submitAndGet() throws Exception {
+        return this.executor.submit(Thread::currentThread).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void submitBatch(final Blackhole blackhole) throws Exception {
+        final Future<?>[] futures = new Future<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = this.executor.submit(Thread::currentThread);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(futures[i].get());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void executeBatch() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            this.executor.execute(latch::countDown);
+        }
+        latch.await();
+    }
+
+    private static ExecutorService newPool(final int poolSize) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+}
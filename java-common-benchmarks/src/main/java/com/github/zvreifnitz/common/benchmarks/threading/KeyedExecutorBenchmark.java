@@ -0,0 +1,86 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.OpenableKeyedExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedExecutorBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"uniform", "hot"})
+    public String distribution;
+
+    @Param({"1024"})
+    public int keys;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private OpenableExecutorService pool;
+    private OpenableKeyedExecutor executor;
+    private Integer[] keyOrder;
+
+    @Setup
+    public void setUp() {
+        this.pool = OpenableExecutors.openableExecutorService(
+                () -> new ThreadPoolExecutor(this.poolSize, this.poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()));
+        this.executor = OpenableExecutors.openableKeyedExecutor(this.pool);
+        this.executor.init();
+        this.executor.open();
+        this.keyOrder = new Integer[BATCH];
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < BATCH; i++) {
+            final boolean hot = ("hot".equals(this.distribution) && (random.nextInt(10) < 8));
+            this.keyOrder[i] = (hot ? 0 : random.nextInt(this.keys));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void executeBatch() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            this.executor.execute(this.keyOrder[i], latch::countDown);
+        }
+        latch.await();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH)
+    public void executeBatchContended() throws InterruptedException {
+        this.executeBatch();
+    }
+}
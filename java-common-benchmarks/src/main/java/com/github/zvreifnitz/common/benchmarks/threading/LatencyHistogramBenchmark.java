@@ -0,0 +1,64 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.LatencyHistogram;
+import com.github.zvreifnitz.common.threading.LatencySnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyHistogramBenchmark {
+
+    private LatencyHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        this.histogram = new LatencyHistogram();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void record_01() {
+        this.histogram.record(ThreadLocalRandom.current().nextLong(1_000_000L));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void record_08() {
+        this.histogram.record(ThreadLocalRandom.current().nextLong(1_000_000L));
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void record_32() {
+        this.histogram.record(ThreadLocalRandom.current().nextLong(1_000_000L));
+    }
+
+    @Benchmark
+    public LatencySnapshot snapshot() {
+        return this.histogram.snapshot();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.PeriodicCoalescing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PeriodicSchedulingBenchmark {
+
+    @Param({"plain", "coalesced", "coalescedWithJitter"})
+    public String mode;
+
+    @Param({"10000"})
+    public int periodicTasks;
+
+    private ScheduledExecutorService executor;
+    private LongAdder ticks;
+
+    @Setup
+    public void setUp() {
+        switch (this.mode) {
+            case "coalesced":
+                this.executor = OpenableExecutors.coalescingScheduledExecutorService(
+                        () -> Executors.newScheduledThreadPool(1),
+                        PeriodicCoalescing.coalesce(1L, TimeUnit.MILLISECONDS));
+                break;
+            case "coalescedWithJitter":
+                this.executor = OpenableExecutors.coalescingScheduledExecutorService(
+                        () -> Executors.newScheduledThreadPool(1),
+                        PeriodicCoalescing.coalesceWithJitter(1L, 10L, TimeUnit.MILLISECONDS));
+                break;
+            default:
+                this.executor = OpenableExecutors.openableScheduledExecutorService(() -> Executors.newScheduledThreadPool(1));
+                break;
+        }
+        ((AbstractOpenable)this.executor).init();
+        ((AbstractOpenable)this.executor).open();
+        this.ticks = new LongAdder();
+        for (int i = 0; i < this.periodicTasks; i++) {
+            this.executor.scheduleAtFixedRate(this.ticks::increment, i % 50, 50L, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((AbstractOpenable)this.executor).close();
+    }
+
+    @Benchmark
+    public Object oneShotUnderPeriodicLoad() throws Exception {
+        return this.executor.schedule(() -> this.ticks, 0L, TimeUnit.MILLISECONDS).get();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.RateLimiter;
+import com.github.zvreifnitz.common.threading.RateLimiters;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final long RATE = 100_000_000L;
+
+    @Param({"synchronized", "tokenBucket", "slidingWindow"})
+    public String limiterType;
+
+    private RateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        switch (this.limiterType) {
+            case "tokenBucket":
+                this.limiter = RateLimiters.tokenBucket(RATE, 1024);
+                break;
+            case "slidingWindow":
+                this.limiter = RateLimiters.slidingWindow((int)(RATE / 1000L), 10L, TimeUnit.MILLISECONDS);
+                break;
+            default:
+                this.limiter = new SynchronizedTokenBucket(RATE, 1024);
+                break;
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return this.limiter.tryAcquire(1);
+    }
+
+    private static final class SynchronizedTokenBucket implements RateLimiter {
+        private final double permitsPerNano;
+        private final int capacity;
+
+        private double tokens;
+        private long last;
+
+        private SynchronizedTokenBucket(final long permitsPerSecond, final int capacity) {
+            this.permitsPerNano = (permitsPerSecond / 1e9d);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.last = System.nanoTime();
+        }
+
+        @Override
+        public synchronized boolean tryAcquire(final int permits) {
+            this.refill();
+            if (this.tokens < permits) {
+                return false;
+            }
+            this.tokens -= permits;
+            return true;
+        }
+
+        @Override
+        public synchronized long nanosUntilAvailable(final int permits) {
+            this.refill();
+            return ((this.tokens >= permits) ? 0L : (long)Math.ceil((permits - this.tokens) / this.permitsPerNano));
+        }
+
+        @Override
+        public int getMaxPermits() {
+            return this.capacity;
+        }
+
+        private void refill() {
+            final long now = System.nanoTime();
+            this.tokens = Math.min(this.capacity, this.tokens + ((now - this.last) * this.permitsPerNano));
+            this.last = now;
+        }
+    }
+}
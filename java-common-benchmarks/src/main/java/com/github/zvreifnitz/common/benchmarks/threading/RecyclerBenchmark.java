@@ -0,0 +1,84 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.OpenableRecycler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecyclerBenchmark {
+
+    private static final int SCRATCH_SIZE = 4096;
+
+    private OpenableExecutorService executor;
+    private OpenableRecycler<Scratch> recycler;
+
+    @Setup
+    public void setUp() {
+        this.executor = OpenableExecutors.openableExecutorService(() -> Executors.newFixedThreadPool(1));
+        this.recycler = OpenableExecutors.openableRecycler(this.executor, Scratch::new, Scratch::reset, 64);
+        this.recycler.init();
+        this.recycler.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.recycler.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void allocate(final Blackhole blackhole) {
+        final Scratch scratch = new Scratch();
+        blackhole.consume(scratch.use());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recycle(final Blackhole blackhole) {
+        final OpenableRecycler.Handle<Scratch> handle = this.recycler.acquire();
+        blackhole.consume(handle.get().use());
+        handle.recycle();
+    }
+
+    private static final class Scratch {
+        private final byte[] buffer = new byte[SCRATCH_SIZE];
+        private final StringBuilder builder = new StringBuilder(256);
+
+        private int use() {
+            this.buffer[0]++;
+            this.builder.append("task-").append(this.buffer[0]);
+            return this.builder.length();
+        }
+
+        private void reset() {
+            this.builder.setLength(0);
+        }
+    }
+}
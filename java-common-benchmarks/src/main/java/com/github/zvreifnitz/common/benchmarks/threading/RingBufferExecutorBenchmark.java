@@ -0,0 +1,99 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.WaitStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferExecutorBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"ring-busy-spin", "ring-yielding", "ring-parking", "single-thread-pool", "fork-join-pool"})
+    public String executorType;
+
+    private Executor executor;
+    private ExecutorService pool;
+
+    @Setup
+    public void setUp() {
+        switch (this.executorType) {
+            case "ring-busy-spin":
+                this.executor = this.openRing(OpenableExecutors.openableRingBufferExecutor(65536, WaitStrategies.busySpin()));
+                break;
+            case "ring-yielding":
+                this.executor = this.openRing(OpenableExecutors.openableRingBufferExecutor(65536, WaitStrategies.yielding()));
+                break;
+            case "ring-parking":
+                this.executor = this.openRing(OpenableExecutors.openableRingBufferExecutor(
+                        65536, WaitStrategies.parking(100, TimeUnit.MICROSECONDS)));
+                break;
+            case "fork-join-pool":
+                this.pool = new ForkJoinPool(1);
+                this.executor = this.pool;
+                break;
+            default:
+                this.pool = Executors.newSingleThreadExecutor();
+                this.executor = this.pool;
+                break;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (this.pool != null) {
+            this.pool.shutdown();
+            this.pool.awaitTermination(1, TimeUnit.MINUTES);
+        } else {
+            ((Openable)this.executor).close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void executeBatch() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            this.executor.execute(latch::countDown);
+        }
+        latch.await();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH)
+    public void executeBatch4Producers() throws InterruptedException {
+        this.executeBatch();
+    }
+
+    private <T extends Openable & Executor> Executor openRing(final T ring) {
+        ring.init();
+        ring.open();
+        return ring;
+    }
+}
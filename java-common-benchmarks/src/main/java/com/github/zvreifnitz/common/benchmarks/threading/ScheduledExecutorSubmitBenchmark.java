@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.OpenableScheduledExecutorService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduledExecutorSubmitBenchmark {
+
+    private static final int BATCH = 128;
+
+    @Param({"raw", "openable", "instrumented"})
+    public String executorType;
+
+    @Param({"4"})
+    public int poolSize;
+
+    private ScheduledExecutorService raw;
+    private OpenableScheduledExecutorService openable;
+    private ScheduledExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        if ("openable".equals(this.executorType) || "instrumented".equals(this.executorType)) {
+            this.openable = ("instrumented".equals(this.executorType)
+                    ? OpenableExecutors.instrumentedScheduledExecutorService(
+                            () -> Executors.newScheduledThreadPool(this.poolSize), "schedule-benchmark")
+                    : OpenableExecutors.openableScheduledExecutorService(() -> Executors.newScheduledThreadPool(this.poolSize)));
+            this.openable.init();
+            this.openable.open();
+            this.executor = this.openable;
+        } else {
+            this.raw = Executors.newScheduledThreadPool(this.poolSize);
+            this.executor = this.raw;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (this.raw != null) {
+            this.raw.shutdown();
+            this.raw.awaitTermination(1, TimeUnit.MINUTES);
+        } else {
+            this.openable.close();
+        }
+    }
+
+    @Benchmark
+    public Object submitAndGet() throws Exception {
+        return this.executor.submit(Thread::currentThread).get();
+    }
+
+    @Benchmark
+    public Object scheduleAndGet() throws Exception {
+        return this.executor.schedule(Thread::currentThread, 0L, TimeUnit.NANOSECONDS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void scheduleBatch(final Blackhole blackhole) throws Exception {
+        final Future<?>[] futures = new Future<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = this.executor.schedule(Thread::currentThread, 0L, TimeUnit.NANOSECONDS);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(futures[i].get());
+        }
+    }
+}
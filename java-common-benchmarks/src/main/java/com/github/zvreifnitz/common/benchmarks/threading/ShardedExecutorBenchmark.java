@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.OpenableShardedExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardedExecutorBenchmark {
+
+    private static final int BATCH = 1024;
+    private static final int FAN_OUT_DEPTH = 10;
+
+    @Param({"threadPool", "forkJoin", "sharded"})
+    public String executorType;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int poolSize;
+
+    private ExecutorService raw;
+    private OpenableShardedExecutor sharded;
+    private Executor executor;
+
+    @Setup
+    public void setUp() {
+        switch (this.executorType) {
+            case "sharded":
+                this.sharded = OpenableExecutors.openableShardedExecutor(this.poolSize);
+                this.sharded.init();
+                this.sharded.open();
+                this.executor = this.sharded;
+                break;
+            case "forkJoin":
+                this.raw = new ForkJoinPool(this.poolSize);
+                this.executor = this.raw;
+                break;
+            default:
+                this.raw = new ThreadPoolExecutor(
+                        this.poolSize, this.poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+                this.executor = this.raw;
+                break;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (this.sharded != null) {
+            this.sharded.close();
+        } else {
+            this.raw.shutdown();
+            this.raw.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH)
+    public void externalSubmit() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            this.executor.execute(latch::countDown);
+        }
+        latch.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 << FAN_OUT_DEPTH)
+    public void fanOut() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1 << FAN_OUT_DEPTH);
+        this.executor.execute(() -> spawn(this.executor, FAN_OUT_DEPTH, latch));
+        latch.await();
+    }
+
+    private static void spawn(final Executor executor, final int depth, final CountDownLatch latch) {
+        if (depth == 0) {
+            latch.countDown();
+            return;
+        }
+        executor.execute(() -> spawn(executor, depth - 1, latch));
+        executor.execute(() -> spawn(executor, depth - 1, latch));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.threading.TaskScope;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskScopeBenchmark {
+
+    @Param({"8"})
+    public int fanOut;
+
+    private OpenableExecutorService executor;
+    private Owner owner;
+    private List<Callable<Integer>> tasks;
+
+    @Setup
+    public void setUp() {
+        this.executor = OpenableExecutors.openableExecutorService(() -> Executors.newFixedThreadPool(4));
+        this.owner = new Owner(this.executor);
+        this.owner.init();
+        this.owner.open();
+        this.tasks = new ArrayList<>(this.fanOut);
+        for (int i = 0; i < this.fanOut; i++) {
+            final int value = i;
+            this.tasks.add(() -> value);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.owner.close();
+    }
+
+    @Benchmark
+    public Object invokeAll() throws Exception {
+        return this.executor.invokeAll(this.tasks);
+    }
+
+    @Benchmark
+    public Object scopeAll() throws Exception {
+        return this.owner.scope.all(this.tasks, 1L, TimeUnit.SECONDS).get();
+    }
+
+    @Benchmark
+    public Object invokeAny() throws Exception {
+        return this.executor.invokeAny(this.tasks);
+    }
+
+    @Benchmark
+    public Object scopeAny() throws Exception {
+        return this.owner.scope.any(this.tasks, 1L, TimeUnit.SECONDS).get();
+    }
+
+    private static final class Owner extends AbstractOpenable {
+        private final OpenableExecutorService executor;
+
+        private volatile TaskScope scope;
+
+        private Owner(final OpenableExecutorService executor) {
+            super(executor);
+            this.executor = executor;
+        }
+
+        @Override
+        protected void performOpen() {
+            this.scope = OpenableExecutors.taskScope(this, this.executor);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.threading.ExecutorClosePolicy;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TimerBenchmark {
+
+    @Param({"scheduled-thread-pool", "hashed-wheel"})
+    public String timerType;
+
+    @Param({"1000000"})
+    public int pendingTimers;
+
+    private ScheduledExecutorService timer;
+
+    @Setup
+    public void setUp() {
+        final ExecutorClosePolicy closePolicy = ExecutorClosePolicy.drainThenShutdownNow(0L, 10L, TimeUnit.SECONDS);
+        if ("hashed-wheel".equals(this.timerType)) {
+            this.timer = OpenableExecutors.openableHashedWheelScheduledExecutorService(
+                    1L, TimeUnit.MILLISECONDS, 4096, () -> Executors.newFixedThreadPool(2), closePolicy);
+        } else {
+            this.timer = OpenableExecutors.openableScheduledExecutorService(() -> {
+                final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2);
+                executor.setRemoveOnCancelPolicy(true);
+                return executor;
+            }, closePolicy);
+        }
+        ((Openable)this.timer).init();
+        ((Openable)this.timer).open();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < this.pendingTimers; i++) {
+            this.timer.schedule(() -> {}, 600L + random.nextInt(600), TimeUnit.SECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((Openable)this.timer).close();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        return this.timer.schedule(() -> {}, 30L, TimeUnit.SECONDS).cancel(false);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean scheduleAndCancelContended() {
+        return this.scheduleAndCancel();
+    }
+}
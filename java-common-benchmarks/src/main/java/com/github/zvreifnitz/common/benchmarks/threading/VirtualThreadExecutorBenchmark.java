@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.threading;
+
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadExecutorBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"fixed", "virtual"})
+    public String executorType;
+
+    @Param({"64"})
+    public int poolSize;
+
+    @Param({"1000"})
+    public long blockMicros;
+
+    private OpenableExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        if ("virtual".equals(this.executorType)) {
+            this.executor = OpenableExecutors.openableVirtualThreadExecutor("bench-vt-");
+        } else {
+            this.executor = OpenableExecutors.openableExecutorService(() -> Executors.newFixedThreadPool(this.poolSize));
+        }
+        this.executor.init();
+        this.executor.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void blockingTasks() throws InterruptedException {
+        final long blockNanos = TimeUnit.MICROSECONDS.toNanos(this.blockMicros);
+        final CountDownLatch latch = new CountDownLatch(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            this.executor.execute(() -> {
+                LockSupport.parkNanos(blockNanos);
+                latch.countDown();
+            });
+        }
+        latch.await();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.benchmarks.utils;
+
+import com.github.zvreifnitz.common.lifecycle.SimpleOpenable;
+import com.github.zvreifnitz.common.threading.OpenableExecutorService;
+import com.github.zvreifnitz.common.threading.OpenableExecutors;
+import com.github.zvreifnitz.common.utils.Exceptions;
+import com.github.zvreifnitz.common.utils.Preconditions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreconditionsBenchmark {
+
+    private Object value;
+    private long count;
+    private boolean condition;
+    private OpenableExecutorService closed;
+
+    @Setup
+    public void setUp() {
+        this.value = new SimpleOpenable(null);
+        this.count = 42L;
+        this.condition = true;
+        this.closed = OpenableExecutors.openableExecutorService(Executors::newSingleThreadExecutor);
+    }
+
+    @Benchmark
+    public Object baseline() {
+        return this.value;
+    }
+
+    @Benchmark
+    public Object checkNotNull() {
+        return Preconditions.checkNotNull(this.value, "value");
+    }
+
+    @Benchmark
+    public Object checkStateTemplateObject() {
+        Preconditions.checkState(this.condition, "Unexpected value %s", this.value);
+        return this.value;
+    }
+
+    @Benchmark
+    public Object checkStateTemplateLong() {
+        Preconditions.checkState(this.condition, "Unexpected count %s", this.count);
+        return this.value;
+    }
+
+    @Benchmark
+    public Object checkStateTemplateTwoArgs() {
+        Preconditions.checkState(this.condition, "Unexpected %s for %s", this.value, this.count);
+        return this.value;
+    }
+
+    @Benchmark
+    public Object notOpenFailure() {
+        try {
+            this.closed.execute(() -> {});
+            return null;
+        } catch (final IllegalStateException exc) {
+            return exc;
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + Exceptions.STACKLESS_PROPERTY + "=true")
+    public Object notOpenFailureStackless() {
+        return this.notOpenFailure();
+    }
+}
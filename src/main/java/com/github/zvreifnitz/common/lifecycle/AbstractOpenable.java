@@ -17,26 +17,60 @@
 
 package com.github.zvreifnitz.common.lifecycle;
 
+import com.github.zvreifnitz.common.utils.Exceptions;
 import com.github.zvreifnitz.common.utils.Preconditions;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public abstract class AbstractOpenable implements Openable {
 
     private final Openable[] dependencies;
-    private final Map<Openable, Boolean> owners;
+    private final ConcurrentMap<Openable, Boolean> owners;
+    private final AtomicInteger openOwners;
+    private final Object lock;
+    private final AtomicLongArray timings;
     private final EmptyOpenable self;
+    private final Queue<Runnable> closeListeners;
+    private final OpenMode openMode;
+    private final boolean trackUse;
+    private final AtomicInteger uses;
+    private final AtomicBoolean idleClosing;
 
     private volatile boolean init;
     private volatile boolean open;
+    private volatile boolean active;
+    private volatile boolean used;
+    private ScheduledFuture<?> idleSweep;
 
     protected AbstractOpenable(final Openable... dependencies) {
+        this(OpenMode.eager(), dependencies);
+    }
+
+    protected AbstractOpenable(final OpenMode openMode, final Openable... dependencies) {
+        this.openMode = Preconditions.checkNotNull(openMode, "openMode");
+        this.trackUse = openMode.isIdleClose();
         this.dependencies = compact(dependencies);
-        this.owners = new HashMap<>();
+        this.owners = new ConcurrentHashMap<>();
+        this.openOwners = new AtomicInteger();
+        this.lock = new Object();
+        this.timings = new AtomicLongArray(LifecyclePhase.values().length * 2);
         this.self = new EmptyOpenable();
+        this.closeListeners = new ConcurrentLinkedQueue<>();
+        this.uses = new AtomicInteger();
+        this.idleClosing = new AtomicBoolean();
     }
 
     @Override
@@ -64,20 +98,39 @@ public abstract class AbstractOpenable implements Openable {
         this.closeAsDependency(this.self);
     }
 
+    public final void init(final Executor executor) {
+        this.initAsDependency(this.self, executor);
+    }
+
+    public final void open(final Executor executor) {
+        this.openAsDependency(this.self, executor);
+    }
+
+    @Override
+    public final CompletableFuture<Void> initAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        return this.initAsDependencyAsync(this.self, executor, timeout, unit);
+    }
+
+    @Override
+    public final CompletableFuture<Void> openAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        return this.openAsDependencyAsync(this.self, executor, timeout, unit);
+    }
+
+    @Override
+    public final CompletableFuture<Void> closeAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        return this.closeAsDependencyAsync(this.self, executor, timeout, unit);
+    }
+
     @Override
     public final boolean isInitAsDependency(final Openable owner) {
         Preconditions.checkNotNull(owner, "owner");
-        synchronized (this.owners) {
-            return this.owners.containsKey(owner);
-        }
+        return this.owners.containsKey(owner);
     }
 
     @Override
     public final boolean isOpenAsDependency(final Openable owner) {
         Preconditions.checkNotNull(owner, "owner");
-        synchronized (this.owners) {
-            return Boolean.TRUE.equals(this.owners.get(owner));
-        }
+        return Boolean.TRUE.equals(this.owners.get(owner));
     }
 
     @Override
@@ -88,27 +141,96 @@ public abstract class AbstractOpenable implements Openable {
                 this.dependencies[i].initAsDependency(owner);
             }
         }
-        synchronized (this.owners) {
+        this.initSelf(owner);
+    }
+
+    @Override
+    public final void openAsDependency(final Openable owner) {
+        Preconditions.checkNotNull(owner, "owner");
+        if (this.dependencies != null) {
+            for (int i = 0; i < this.dependencies.length; i++) {
+                this.dependencies[i].openAsDependency(owner);
+            }
+        }
+        this.openSelf(owner);
+    }
+
+    public final void initAsDependency(final Openable owner, final Executor executor) {
+        Preconditions.checkNotNull(owner, "owner");
+        Preconditions.checkNotNull(executor, "executor");
+        OpenableGraph.await(OpenableGraph.of(this).dependenciesFirst(executor, node -> initNode(node, owner)));
+    }
+
+    public final void openAsDependency(final Openable owner, final Executor executor) {
+        Preconditions.checkNotNull(owner, "owner");
+        Preconditions.checkNotNull(executor, "executor");
+        OpenableGraph.await(OpenableGraph.of(this).dependenciesFirst(executor, node -> openNode(node, owner)));
+    }
+
+    public final CompletableFuture<Void> initAsDependencyAsync(
+            final Openable owner, final Executor executor, final long timeout, final TimeUnit unit) {
+        checkAsyncArgs(owner, executor, timeout, unit);
+        return OpenableGraph.of(this).dependenciesFirst(executor, node -> initNode(node, owner), "init", timeout, unit);
+    }
+
+    public final CompletableFuture<Void> openAsDependencyAsync(
+            final Openable owner, final Executor executor, final long timeout, final TimeUnit unit) {
+        checkAsyncArgs(owner, executor, timeout, unit);
+        return OpenableGraph.of(this).dependenciesFirst(executor, node -> openNode(node, owner), "open", timeout, unit);
+    }
+
+    public final CompletableFuture<Void> closeAsDependencyAsync(
+            final Openable owner, final Executor executor, final long timeout, final TimeUnit unit) {
+        checkAsyncArgs(owner, executor, timeout, unit);
+        return OpenableGraph.of(this).dependentsFirst(executor, node -> closeNode(node, owner), "close", timeout, unit);
+    }
+
+    public final ShutdownReport shutdown(final Executor executor, final long timeout, final TimeUnit unit) {
+        return this.shutdownAsDependency(this.self, executor, timeout, unit);
+    }
+
+    public final CompletableFuture<ShutdownReport> shutdownAsync(
+            final Executor executor, final long timeout, final TimeUnit unit) {
+        return this.shutdownAsDependencyAsync(this.self, executor, timeout, unit);
+    }
+
+    public final ShutdownReport shutdownAsDependency(
+            final Openable owner, final Executor executor, final long timeout, final TimeUnit unit) {
+        return this.shutdownAsDependencyAsync(owner, executor, timeout, unit).join();
+    }
+
+    public final CompletableFuture<ShutdownReport> shutdownAsDependencyAsync(
+            final Openable owner, final Executor executor, final long timeout, final TimeUnit unit) {
+        checkAsyncArgs(owner, executor, timeout, unit);
+        return OpenableGraph.of(this).shutdown(executor, node -> closeNode(node, owner), timeout, unit);
+    }
+
+    final void initSelf(final Openable owner) {
+        if (this.owners.containsKey(owner)) {
+            return;
+        }
+        synchronized (this.lock) {
             if (this.owners.containsKey(owner)) {
                 return;
             }
             if (!this.init) {
-                this.performInit();
+                final long start = System.nanoTime();
+                try {
+                    this.performInit();
+                } finally {
+                    this.recordTiming(LifecyclePhase.INIT, start);
+                }
                 this.init = true;
             }
             this.owners.put(owner, Boolean.FALSE);
         }
     }
 
-    @Override
-    public final void openAsDependency(final Openable owner) {
-        Preconditions.checkNotNull(owner, "owner");
-        if (this.dependencies != null) {
-            for (int i = 0; i < this.dependencies.length; i++) {
-                this.dependencies[i].openAsDependency(owner);
-            }
+    final void openSelf(final Openable owner) {
+        if (Boolean.TRUE.equals(this.owners.get(owner))) {
+            return;
         }
-        synchronized (this.owners) {
+        synchronized (this.lock) {
             final Boolean existing = this.owners.get(owner);
             if (existing == null) {
                 this.throwNotInit();
@@ -117,25 +239,26 @@ public abstract class AbstractOpenable implements Openable {
                 return;
             }
             if (!this.open) {
-                this.performOpen();
+                if (!this.openMode.isLazy()) {
+                    this.activate();
+                }
                 this.open = true;
+                if (this.trackUse) {
+                    final long period = this.openMode.getIdleTimeoutNanos();
+                    this.idleSweep = LifecycleTimer.INSTANCE.scheduleWithFixedDelay(
+                            this::sweepIdle, period, period, TimeUnit.NANOSECONDS);
+                }
             }
             this.owners.put(owner, Boolean.TRUE);
+            this.openOwners.incrementAndGet();
         }
     }
 
     @Override
     public final void closeAsDependency(final Openable owner) {
         Preconditions.checkNotNull(owner, "owner");
-        synchronized (this.owners) {
-            if (!Boolean.TRUE.equals(this.owners.get(owner))) {
-                return;
-            }
-            this.owners.put(owner, Boolean.FALSE);
-            if (this.open && this.noneOpen()) {
-                this.open = false;
-                this.performClose();
-            }
+        if (!this.closeSelf(owner)) {
+            return;
         }
         if (this.dependencies != null) {
             for (int i = (this.dependencies.length - 1); i >= 0; i--) {
@@ -144,12 +267,178 @@ public abstract class AbstractOpenable implements Openable {
         }
     }
 
-    private boolean noneOpen() {
-        boolean anyOpen = false;
-        for (final Boolean open : this.owners.values()) {
-            anyOpen |= Boolean.TRUE.equals(open);
+    final boolean closeSelf(final Openable owner) {
+        if (!Boolean.TRUE.equals(this.owners.get(owner))) {
+            return false;
+        }
+        synchronized (this.lock) {
+            if (!this.owners.replace(owner, Boolean.TRUE, Boolean.FALSE)) {
+                return false;
+            }
+            if ((this.openOwners.decrementAndGet() == 0) && this.open) {
+                this.open = false;
+                final boolean wasActive = this.active;
+                this.active = false;
+                if (this.idleSweep != null) {
+                    this.idleSweep.cancel(false);
+                    this.idleSweep = null;
+                }
+                final long start = System.nanoTime();
+                try {
+                    this.notifyCloseListeners();
+                } finally {
+                    try {
+                        if (wasActive) {
+                            this.performClose();
+                        }
+                    } finally {
+                        this.recordTiming(LifecyclePhase.CLOSE, start);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    public final OpenMode getOpenMode() {
+        return this.openMode;
+    }
+
+    public final boolean isActive() {
+        return this.active;
+    }
+
+    public final ActiveUse acquireUse() {
+        if (!this.trackUse) {
+            this.checkOpen();
+            return ActiveUse.UNTRACKED;
+        }
+        this.uses.incrementAndGet();
+        try {
+            this.checkOpen();
+        } catch (final RuntimeException exc) {
+            this.uses.decrementAndGet();
+            throw exc;
+        }
+        return new ActiveUse(this);
+    }
+
+    public final int getActiveUses() {
+        return this.uses.get();
+    }
+
+    private void activate() {
+        final long start = System.nanoTime();
+        try {
+            this.performOpen();
+        } finally {
+            this.recordTiming(LifecyclePhase.OPEN, start);
+        }
+        this.used = true;
+        this.active = true;
+    }
+
+    private void activateOrThrow() {
+        if (this.open && this.openMode.isLazy()) {
+            synchronized (this.lock) {
+                if (this.open && !this.active) {
+                    this.activate();
+                }
+            }
+        }
+        if (!this.active) {
+            this.throwNotOpen();
+        }
+    }
+
+    private void sweepIdle() {
+        if (!this.active) {
+            return;
+        }
+        if (this.used) {
+            this.used = false;
+            return;
+        }
+        if ((this.uses.get() > 0) || !this.idleClosing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.openMode.getIdleCloseExecutor().execute(this::closeIdle);
+        } catch (final RejectedExecutionException exc) {
+            this.idleClosing.set(false);
+        }
+    }
+
+    private void closeIdle() {
+        try {
+            synchronized (this.lock) {
+                if (!this.active || this.used || (this.uses.get() > 0)) {
+                    return;
+                }
+                this.active = false;
+                if (this.uses.get() > 0) {
+                    this.active = true;
+                    return;
+                }
+                final long start = System.nanoTime();
+                try {
+                    this.performClose();
+                } catch (final RuntimeException exc) {
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+                } finally {
+                    this.recordTiming(LifecyclePhase.CLOSE, start);
+                }
+            }
+        } finally {
+            this.idleClosing.set(false);
+        }
+    }
+
+    public final void addCloseListener(final Runnable listener) {
+        this.closeListeners.add(Preconditions.checkNotNull(listener, "listener"));
+    }
+
+    public final void removeCloseListener(final Runnable listener) {
+        this.closeListeners.remove(Preconditions.checkNotNull(listener, "listener"));
+    }
+
+    private void notifyCloseListeners() {
+        if (this.closeListeners.isEmpty()) {
+            return;
         }
-        return !anyOpen;
+        RuntimeException failure = null;
+        for (final Runnable listener : this.closeListeners) {
+            try {
+                listener.run();
+            } catch (final RuntimeException exc) {
+                if (failure == null) {
+                    failure = exc;
+                } else {
+                    failure.addSuppressed(exc);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    final long timingStartNanos(final LifecyclePhase phase) {
+        return this.timings.get(phase.ordinal() * 2);
+    }
+
+    final long timingDurationNanos(final LifecyclePhase phase) {
+        return this.timings.get((phase.ordinal() * 2) + 1);
+    }
+
+    private void recordTiming(final LifecyclePhase phase, final long start) {
+        this.timings.set(phase.ordinal() * 2, start);
+        this.timings.set((phase.ordinal() * 2) + 1, System.nanoTime() - start);
+    }
+
+    final Openable[] dependencies() {
+        return this.dependencies;
     }
 
     protected final void checkInit() {
@@ -159,17 +448,19 @@ public abstract class AbstractOpenable implements Openable {
     }
 
     protected final void checkOpen() {
-        if (!this.open) {
-            this.throwNotOpen();
+        if (!this.active) {
+            this.activateOrThrow();
+        } else if (this.trackUse && !this.used) {
+            this.used = true;
         }
     }
 
     protected final void throwNotInit() {
-        Preconditions.checkState(false, "Openable is not initialised");
+        Exceptions.throwExpectedIllegalStateException("Openable is not initialised");
     }
 
     protected final void throwNotOpen() {
-        Preconditions.checkState(false, "Openable is not open");
+        Exceptions.throwExpectedIllegalStateException("Openable is not open");
     }
 
     protected void performInit() {
@@ -181,6 +472,37 @@ public abstract class AbstractOpenable implements Openable {
     protected void performClose() {
     }
 
+    private static void initNode(final Openable node, final Openable owner) {
+        if (node instanceof AbstractOpenable) {
+            ((AbstractOpenable)node).initSelf(owner);
+        } else {
+            node.initAsDependency(owner);
+        }
+    }
+
+    private static void openNode(final Openable node, final Openable owner) {
+        if (node instanceof AbstractOpenable) {
+            ((AbstractOpenable)node).openSelf(owner);
+        } else {
+            node.openAsDependency(owner);
+        }
+    }
+
+    private static void closeNode(final Openable node, final Openable owner) {
+        if (node instanceof AbstractOpenable) {
+            ((AbstractOpenable)node).closeSelf(owner);
+        } else {
+            node.closeAsDependency(owner);
+        }
+    }
+
+    private static void checkAsyncArgs(
+            final Openable owner, final Executor executor, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(owner, "owner");
+        Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkTimeout(timeout, unit);
+    }
+
     private static Openable[] compact(final Openable[] input) {
         if ((input == null) || (input.length == 0)) {
             return null;
@@ -188,4 +510,25 @@ public abstract class AbstractOpenable implements Openable {
         final Openable[] result = Arrays.stream(input).filter(Objects::nonNull).toArray(Openable[]::new);
         return (((result == null) || (result.length == 0)) ? null : result);
     }
+
+    public static final class ActiveUse implements AutoCloseable {
+        private static final ActiveUse UNTRACKED = new ActiveUse(null);
+
+        private final AbstractOpenable openable;
+
+        private boolean released;
+
+        private ActiveUse(final AbstractOpenable openable) {
+            this.openable = openable;
+        }
+
+        @Override
+        public void close() {
+            if ((this.openable == null) || this.released) {
+                return;
+            }
+            this.released = true;
+            this.openable.uses.decrementAndGet();
+        }
+    }
 }
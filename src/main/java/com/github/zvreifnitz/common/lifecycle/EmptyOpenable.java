@@ -17,6 +17,10 @@
 
 package com.github.zvreifnitz.common.lifecycle;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 public final class EmptyOpenable implements Openable {
     @Override
     public boolean isInit() {
@@ -61,4 +65,19 @@ public final class EmptyOpenable implements Openable {
     @Override
     public void closeAsDependency(final Openable owner) {
     }
+
+    @Override
+    public CompletableFuture<Void> initAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> openAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class LifecycleNodeReport {
+
+    private final int id;
+    private final String name;
+    private final long startOffsetNanos;
+    private final long selfNanos;
+    private final long cumulativeNanos;
+    private final boolean criticalPath;
+    private final List<LifecycleNodeReport> dependencies;
+
+    LifecycleNodeReport(
+            final int id, final String name, final long startOffsetNanos, final long selfNanos,
+            final long cumulativeNanos, final boolean criticalPath) {
+        this.id = id;
+        this.name = name;
+        this.startOffsetNanos = startOffsetNanos;
+        this.selfNanos = selfNanos;
+        this.cumulativeNanos = cumulativeNanos;
+        this.criticalPath = criticalPath;
+        this.dependencies = new ArrayList<>();
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getStartOffsetNanos() {
+        return this.startOffsetNanos;
+    }
+
+    public long getSelfNanos() {
+        return this.selfNanos;
+    }
+
+    public long getCumulativeNanos() {
+        return this.cumulativeNanos;
+    }
+
+    public boolean isOnCriticalPath() {
+        return this.criticalPath;
+    }
+
+    public List<LifecycleNodeReport> getDependencies() {
+        return Collections.unmodifiableList(this.dependencies);
+    }
+
+    void addDependency(final LifecycleNodeReport dependency) {
+        this.dependencies.add(dependency);
+    }
+
+    @Override
+    public String toString() {
+        return "LifecycleNodeReport{name=" + this.name + ", self=" + this.selfNanos
+                + ", cumulative=" + this.cumulativeNanos + ", critical=" + this.criticalPath + "}";
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class LifecycleReport {
+
+    private final LifecyclePhase phase;
+    private final List<LifecycleNodeReport> nodes;
+    private final List<LifecycleNodeReport> criticalPath;
+    private final long criticalPathNanos;
+    private final long wallNanos;
+
+    private LifecycleReport(
+            final LifecyclePhase phase, final List<LifecycleNodeReport> nodes,
+            final List<LifecycleNodeReport> criticalPath, final long criticalPathNanos, final long wallNanos) {
+        this.phase = phase;
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.criticalPath = Collections.unmodifiableList(criticalPath);
+        this.criticalPathNanos = criticalPathNanos;
+        this.wallNanos = wallNanos;
+    }
+
+    public static LifecycleReport of(final Openable root, final LifecyclePhase phase) {
+        Preconditions.checkNotNull(root, "root");
+        Preconditions.checkNotNull(phase, "phase");
+        final OpenableGraph graph = OpenableGraph.of(root);
+        final int size = graph.size();
+        final long[] starts = new long[size];
+        final long[] self = new long[size];
+        final boolean[] recorded = new boolean[size];
+        long minStart = Long.MAX_VALUE;
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            final Openable openable = graph.openable(i);
+            if (!(openable instanceof AbstractOpenable)) {
+                continue;
+            }
+            final AbstractOpenable node = (AbstractOpenable)openable;
+            starts[i] = node.timingStartNanos(phase);
+            self[i] = node.timingDurationNanos(phase);
+            recorded[i] = ((starts[i] != 0L) || (self[i] != 0L));
+            if (recorded[i]) {
+                minStart = Math.min(minStart, starts[i]);
+                maxEnd = Math.max(maxEnd, starts[i] + self[i]);
+            }
+        }
+        final boolean reverse = (phase == LifecyclePhase.CLOSE);
+        final long[] cumulative = new long[size];
+        final int[] criticalPredecessor = new int[size];
+        for (int k = 0; k < size; k++) {
+            final int i = (reverse ? (size - 1 - k) : k);
+            final int[] predecessors = (reverse ? graph.dependents(i) : graph.dependencies(i));
+            long best = 0L;
+            int bestIndex = -1;
+            for (int j = 0; j < predecessors.length; j++) {
+                if (cumulative[predecessors[j]] > best) {
+                    best = cumulative[predecessors[j]];
+                    bestIndex = predecessors[j];
+                }
+            }
+            cumulative[i] = (self[i] + best);
+            criticalPredecessor[i] = bestIndex;
+        }
+        int last = -1;
+        for (int i = 0; i < size; i++) {
+            if ((last < 0) || (cumulative[i] > cumulative[last])) {
+                last = i;
+            }
+        }
+        final boolean[] critical = new boolean[size];
+        final List<Integer> pathIndices = new ArrayList<>();
+        for (int i = last; i >= 0; i = criticalPredecessor[i]) {
+            critical[i] = true;
+            pathIndices.add(i);
+        }
+        Collections.reverse(pathIndices);
+        final List<LifecycleNodeReport> nodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            nodes.add(new LifecycleNodeReport(i, String.valueOf(graph.openable(i)),
+                    (recorded[i] ? (starts[i] - minStart) : -1L), self[i], cumulative[i], critical[i]));
+        }
+        for (int i = 0; i < size; i++) {
+            final int[] dependencies = graph.dependencies(i);
+            for (int j = 0; j < dependencies.length; j++) {
+                nodes.get(i).addDependency(nodes.get(dependencies[j]));
+            }
+        }
+        final List<LifecycleNodeReport> criticalPath = new ArrayList<>(pathIndices.size());
+        for (final Integer index : pathIndices) {
+            criticalPath.add(nodes.get(index));
+        }
+        final long wall = ((minStart == Long.MAX_VALUE) ? 0L : (maxEnd - minStart));
+        return new LifecycleReport(phase, nodes, criticalPath, ((last < 0) ? 0L : cumulative[last]), wall);
+    }
+
+    public LifecyclePhase getPhase() {
+        return this.phase;
+    }
+
+    public List<LifecycleNodeReport> getNodes() {
+        return this.nodes;
+    }
+
+    public LifecycleNodeReport getRoot() {
+        return this.nodes.get(this.nodes.size() - 1);
+    }
+
+    public List<LifecycleNodeReport> getCriticalPath() {
+        return this.criticalPath;
+    }
+
+    public long getCriticalPathNanos() {
+        return this.criticalPathNanos;
+    }
+
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"phase\":\"").append(this.phase.name().toLowerCase())
+                .append("\",\"criticalPathNanos\":").append(this.criticalPathNanos)
+                .append(",\"wallNanos\":").append(this.wallNanos)
+                .append(",\"nodes\":[");
+        for (int i = 0; i < this.nodes.size(); i++) {
+            final LifecycleNodeReport node = this.nodes.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(node.getId()).append(",\"name\":");
+            appendJsonString(sb, node.getName());
+            sb.append(",\"startOffsetNanos\":").append(node.getStartOffsetNanos())
+                    .append(",\"selfNanos\":").append(node.getSelfNanos())
+                    .append(",\"cumulativeNanos\":").append(node.getCumulativeNanos())
+                    .append(",\"criticalPath\":").append(node.isOnCriticalPath())
+                    .append(",\"dependencies\":[");
+            final List<LifecycleNodeReport> dependencies = node.getDependencies();
+            for (int j = 0; j < dependencies.size(); j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(dependencies.get(j).getId());
+            }
+            sb.append("]}");
+        }
+        sb.append("],\"criticalPath\":[");
+        for (int i = 0; i < this.criticalPath.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(this.criticalPath.get(i).getId());
+        }
+        return sb.append("]}").toString();
+    }
+
+    public String toCollapsedStacks() {
+        final StringBuilder sb = new StringBuilder();
+        final boolean[] visited = new boolean[this.nodes.size()];
+        this.appendStacks(sb, this.getRoot(), "", visited);
+        return sb.toString();
+    }
+
+    private void appendStacks(
+            final StringBuilder sb, final LifecycleNodeReport node, final String prefix, final boolean[] visited) {
+        final int index = node.getId();
+        if (visited[index]) {
+            return;
+        }
+        visited[index] = true;
+        final String stack = (prefix.isEmpty() ? frameName(node) : (prefix + ";" + frameName(node)));
+        final long micros = (node.getSelfNanos() / 1000L);
+        if (micros > 0L) {
+            sb.append(stack).append(' ').append(micros).append('\n');
+        }
+        final List<LifecycleNodeReport> dependencies = node.getDependencies();
+        for (int i = 0; i < dependencies.size(); i++) {
+            this.appendStacks(sb, dependencies.get(i), stack, visited);
+        }
+    }
+
+    private static String frameName(final LifecycleNodeReport node) {
+        return node.getName().replace(';', '_').replace(' ', '_').replace('\n', '_');
+    }
+
+    private static void appendJsonString(final StringBuilder sb, final String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if ((c == '"') || (c == '\\')) {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int)c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+public final class OpenMode {
+
+    private static final OpenMode EAGER = new OpenMode(false, 0L, null);
+    private static final OpenMode LAZY = new OpenMode(true, 0L, null);
+
+    private final boolean lazy;
+    private final long idleTimeoutNanos;
+    private final Executor idleCloseExecutor;
+
+    private OpenMode(final boolean lazy, final long idleTimeoutNanos, final Executor idleCloseExecutor) {
+        this.lazy = lazy;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.idleCloseExecutor = idleCloseExecutor;
+    }
+
+    public static OpenMode eager() {
+        return EAGER;
+    }
+
+    public static OpenMode lazy() {
+        return LAZY;
+    }
+
+    public static OpenMode idleClose(final long idleTimeout, final TimeUnit unit) {
+        return idleClose(idleTimeout, unit, LifecycleTimer.IDLE_CLOSER);
+    }
+
+    public static OpenMode idleClose(final long idleTimeout, final TimeUnit unit, final Executor closeExecutor) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkNotNull(closeExecutor, "closeExecutor");
+        Preconditions.checkArgument(idleTimeout > 0L, "Idle timeout must be positive");
+        return new OpenMode(true, unit.toNanos(idleTimeout), closeExecutor);
+    }
+
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    public boolean isIdleClose() {
+        return (this.idleTimeoutNanos > 0L);
+    }
+
+    public long getIdleTimeoutNanos() {
+        return this.idleTimeoutNanos;
+    }
+
+    public Executor getIdleCloseExecutor() {
+        return this.idleCloseExecutor;
+    }
+
+    @Override
+    public String toString() {
+        return (this.isIdleClose()
+                ? ("OpenMode{idleClose=" + this.idleTimeoutNanos + "ns}")
+                : (this.lazy ? "OpenMode{lazy}" : "OpenMode{eager}"));
+    }
+}
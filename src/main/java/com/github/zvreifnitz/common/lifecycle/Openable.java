@@ -17,6 +17,12 @@
 
 package com.github.zvreifnitz.common.lifecycle;
 
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 public interface Openable extends AutoCloseable {
     boolean isInit();
     boolean isOpen();
@@ -29,4 +35,22 @@ public interface Openable extends AutoCloseable {
     void initAsDependency(final Openable owner);
     void openAsDependency(final Openable owner);
     void closeAsDependency(final Openable owner);
+
+    default CompletableFuture<Void> initAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkTimeout(timeout, unit);
+        return OpenableGraph.of(this).dependenciesFirst(executor, Openable::init, "init", timeout, unit);
+    }
+
+    default CompletableFuture<Void> openAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkTimeout(timeout, unit);
+        return OpenableGraph.of(this).dependenciesFirst(executor, Openable::open, "open", timeout, unit);
+    }
+
+    default CompletableFuture<Void> closeAsync(final Executor executor, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkTimeout(timeout, unit);
+        return OpenableGraph.of(this).dependentsFirst(executor, Openable::close, "close", timeout, unit);
+    }
 }
@@ -0,0 +1,395 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import com.github.zvreifnitz.common.utils.Exceptions;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+final class OpenableGraph {
+
+    private final List<Node> nodes;
+
+    private OpenableGraph(final List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    static OpenableGraph of(final Openable root) {
+        final Map<Openable, Node> index = new IdentityHashMap<>();
+        final List<Node> nodes = new ArrayList<>();
+        visit(root, index, nodes);
+        return new OpenableGraph(nodes);
+    }
+
+    CompletableFuture<Void> dependenciesFirst(final Executor executor, final Consumer<Openable> action) {
+        return this.dependenciesFirst(executor, action, null, 0L, null);
+    }
+
+    CompletableFuture<Void> dependenciesFirst(
+            final Executor executor, final Consumer<Openable> action,
+            final String phase, final long timeout, final TimeUnit unit) {
+        final Run run = new Run(this.nodes, phase);
+        for (int i = 0; i < this.nodes.size(); i++) {
+            final Node node = this.nodes.get(i);
+            run.schedule(node, node.dependencies, executor, action);
+        }
+        run.completeWith(run.futures.get(this.root()));
+        return run.withDeadline(timeout, unit);
+    }
+
+    CompletableFuture<Void> dependentsFirst(final Executor executor, final Consumer<Openable> action) {
+        return this.dependentsFirst(executor, action, null, 0L, null);
+    }
+
+    CompletableFuture<Void> dependentsFirst(
+            final Executor executor, final Consumer<Openable> action,
+            final String phase, final long timeout, final TimeUnit unit) {
+        final Run run = new Run(this.nodes, phase);
+        for (int i = (this.nodes.size() - 1); i >= 0; i--) {
+            final Node node = this.nodes.get(i);
+            run.schedule(node, node.dependents, executor, action);
+        }
+        run.completeWith(CompletableFuture.allOf(run.futures.values().toArray(new CompletableFuture<?>[0])));
+        return run.withDeadline(timeout, unit);
+    }
+
+    CompletableFuture<ShutdownReport> shutdown(
+            final Executor executor, final Consumer<Openable> action, final long timeout, final TimeUnit unit) {
+        final Shutdown shutdown = new Shutdown(this.nodes, action);
+        for (int i = (this.nodes.size() - 1); i >= 0; i--) {
+            shutdown.schedule(this.nodes.get(i), executor);
+        }
+        return shutdown.withDeadline(timeout, unit);
+    }
+
+    static void await(final CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (final CompletionException exc) {
+            Exceptions.throwUnchecked((exc.getCause() == null) ? exc : exc.getCause());
+        }
+    }
+
+    int size() {
+        return this.nodes.size();
+    }
+
+    Openable openable(final int index) {
+        return this.nodes.get(index).openable;
+    }
+
+    int[] dependencies(final int index) {
+        return indices(this.nodes.get(index).dependencies);
+    }
+
+    int[] dependents(final int index) {
+        return indices(this.nodes.get(index).dependents);
+    }
+
+    private static int[] indices(final List<Node> nodes) {
+        final int[] result = new int[nodes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = nodes.get(i).index;
+        }
+        return result;
+    }
+
+    private Node root() {
+        return this.nodes.get(this.nodes.size() - 1);
+    }
+
+    private static Node visit(final Openable openable, final Map<Openable, Node> index, final List<Node> nodes) {
+        final Node existing = index.get(openable);
+        if (existing != null) {
+            return existing;
+        }
+        final Node node = new Node(openable);
+        index.put(openable, node);
+        if (openable instanceof AbstractOpenable) {
+            final Openable[] dependencies = ((AbstractOpenable)openable).dependencies();
+            if (dependencies != null) {
+                for (int i = 0; i < dependencies.length; i++) {
+                    final Node dependency = visit(dependencies[i], index, nodes);
+                    node.dependencies.add(dependency);
+                    dependency.dependents.add(node);
+                }
+            }
+        }
+        node.index = nodes.size();
+        nodes.add(node);
+        return node;
+    }
+
+    private static final class Node {
+        private final Openable openable;
+        private final List<Node> dependencies;
+        private final List<Node> dependents;
+
+        private int index;
+
+        private Node(final Openable openable) {
+            this.openable = openable;
+            this.dependencies = new ArrayList<>();
+            this.dependents = new ArrayList<>();
+        }
+    }
+
+    private static final class Run {
+        private final List<Node> nodes;
+        private final String phase;
+        private final Map<Node, CompletableFuture<Void>> futures;
+        private final Map<Node, List<Node>> predecessors;
+        private final Thread[] running;
+        private final CompletableFuture<Void> result;
+
+        private boolean expired;
+
+        private Run(final List<Node> nodes, final String phase) {
+            this.nodes = nodes;
+            this.phase = phase;
+            this.futures = new IdentityHashMap<>();
+            this.predecessors = new IdentityHashMap<>();
+            this.running = new Thread[nodes.size()];
+            this.result = new CompletableFuture<>();
+        }
+
+        private void schedule(
+                final Node node, final List<Node> before, final Executor executor, final Consumer<Openable> action) {
+            final CompletableFuture<Void> future;
+            if (before.isEmpty()) {
+                future = CompletableFuture.runAsync(() -> this.run(node, action), executor);
+            } else {
+                final CompletableFuture<?>[] waitFor = new CompletableFuture<?>[before.size()];
+                for (int i = 0; i < waitFor.length; i++) {
+                    waitFor[i] = this.futures.get(before.get(i));
+                }
+                future = CompletableFuture.allOf(waitFor).thenRunAsync(() -> this.run(node, action), executor);
+            }
+            future.whenComplete((ignored, exc) -> {
+                if (exc != null) {
+                    this.result.completeExceptionally(unwrap(exc));
+                }
+            });
+            this.futures.put(node, future);
+            this.predecessors.put(node, before);
+        }
+
+        private void run(final Node node, final Consumer<Openable> action) {
+            synchronized (this.running) {
+                if (this.expired) {
+                    throw new CompletionException(new TimeoutException(
+                            "Openable '" + node.openable + "' did not start " + this.phase + " before the deadline"));
+                }
+                this.running[node.index] = Thread.currentThread();
+            }
+            try {
+                action.accept(node.openable);
+            } finally {
+                synchronized (this.running) {
+                    this.running[node.index] = null;
+                    if (this.expired) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        private void completeWith(final CompletableFuture<?> all) {
+            all.whenComplete((ignored, exc) -> {
+                if (exc == null) {
+                    this.result.complete(null);
+                } else {
+                    this.result.completeExceptionally(unwrap(exc));
+                }
+            });
+        }
+
+        private CompletableFuture<Void> withDeadline(final long timeout, final TimeUnit unit) {
+            if ((unit == null) || this.result.isDone()) {
+                return this.result;
+            }
+            final ScheduledFuture<?> timer = LifecycleTimer.INSTANCE.schedule(() -> this.expire(timeout, unit), timeout, unit);
+            this.result.whenComplete((ignored, exc) -> timer.cancel(false));
+            return this.result;
+        }
+
+        private void expire(final long timeout, final TimeUnit unit) {
+            final List<Node> pending = new ArrayList<>();
+            synchronized (this.running) {
+                this.expired = true;
+                for (int i = 0; i < this.nodes.size(); i++) {
+                    final Node node = this.nodes.get(i);
+                    if (!this.futures.get(node).isDone() && this.allDone(this.predecessors.get(node))) {
+                        pending.add(node);
+                    }
+                }
+            }
+            TimeoutException first = null;
+            for (int i = 0; i < pending.size(); i++) {
+                final Node node = pending.get(i);
+                final TimeoutException exc = new TimeoutException("Openable '" + node.openable + "' did not complete "
+                        + this.phase + " within " + timeout + " " + unit.toString().toLowerCase());
+                if (!this.futures.get(node).completeExceptionally(exc)) {
+                    continue;
+                }
+                if (first == null) {
+                    first = exc;
+                } else {
+                    first.addSuppressed(exc);
+                }
+            }
+            if (first != null) {
+                this.result.completeExceptionally(first);
+            }
+            synchronized (this.running) {
+                for (int i = 0; i < pending.size(); i++) {
+                    final Thread thread = this.running[pending.get(i).index];
+                    if (thread != null) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        }
+
+        private boolean allDone(final List<Node> before) {
+            for (int i = 0; i < before.size(); i++) {
+                if (!this.futures.get(before.get(i)).isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Throwable unwrap(final Throwable exc) {
+            return (((exc instanceof CompletionException) && (exc.getCause() != null)) ? exc.getCause() : exc);
+        }
+    }
+
+    private static final class Shutdown {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int CLOSED = 2;
+        private static final int FAILED = 3;
+
+        private final List<Node> nodes;
+        private final Consumer<Openable> action;
+        private final CompletableFuture<?>[] done;
+        private final AtomicIntegerArray states;
+        private final AtomicReferenceArray<Throwable> failures;
+        private final AtomicLongArray durations;
+        private final CompletableFuture<ShutdownReport> result;
+        private final long start;
+
+        private volatile boolean expired;
+
+        private Shutdown(final List<Node> nodes, final Consumer<Openable> action) {
+            this.nodes = nodes;
+            this.action = action;
+            this.done = new CompletableFuture<?>[nodes.size()];
+            this.states = new AtomicIntegerArray(nodes.size());
+            this.failures = new AtomicReferenceArray<>(nodes.size());
+            this.durations = new AtomicLongArray(nodes.size());
+            this.result = new CompletableFuture<>();
+            this.start = System.nanoTime();
+        }
+
+        private void schedule(final Node node, final Executor executor) {
+            final CompletableFuture<Void> future;
+            if (node.dependents.isEmpty()) {
+                future = CompletableFuture.runAsync(() -> this.run(node), executor);
+            } else {
+                final CompletableFuture<?>[] waitFor = new CompletableFuture<?>[node.dependents.size()];
+                for (int i = 0; i < waitFor.length; i++) {
+                    waitFor[i] = this.done[node.dependents.get(i).index];
+                }
+                future = CompletableFuture.allOf(waitFor).thenRunAsync(() -> this.run(node), executor);
+            }
+            this.done[node.index] = future.handle((ignored, exc) -> {
+                if (exc != null) {
+                    this.fail(node.index, Run.unwrap(exc));
+                }
+                return null;
+            });
+        }
+
+        private void run(final Node node) {
+            if (this.expired || !this.states.compareAndSet(node.index, PENDING, RUNNING)) {
+                return;
+            }
+            final long nodeStart = System.nanoTime();
+            try {
+                this.action.accept(node.openable);
+                this.durations.set(node.index, System.nanoTime() - nodeStart);
+                this.states.set(node.index, CLOSED);
+            } catch (final Throwable exc) {
+                this.durations.set(node.index, System.nanoTime() - nodeStart);
+                this.fail(node.index, exc);
+            }
+        }
+
+        private void fail(final int index, final Throwable exc) {
+            this.failures.compareAndSet(index, null, exc);
+            this.states.set(index, FAILED);
+        }
+
+        private CompletableFuture<ShutdownReport> withDeadline(final long timeout, final TimeUnit unit) {
+            final ScheduledFuture<?> timer = LifecycleTimer.INSTANCE.schedule(() -> {
+                this.expired = true;
+                this.result.complete(this.report());
+            }, timeout, unit);
+            CompletableFuture.allOf(this.done).whenComplete((ignored, exc) -> {
+                timer.cancel(false);
+                this.result.complete(this.report());
+            });
+            return this.result;
+        }
+
+        private ShutdownReport report() {
+            final long now = System.nanoTime();
+            final List<ShutdownNodeReport> reports = new ArrayList<>(this.nodes.size());
+            for (int i = 0; i < this.nodes.size(); i++) {
+                final ShutdownStatus status;
+                switch (this.states.get(i)) {
+                    case CLOSED:
+                        status = ShutdownStatus.CLOSED;
+                        break;
+                    case FAILED:
+                        status = ShutdownStatus.FAILED;
+                        break;
+                    case RUNNING:
+                        status = ShutdownStatus.TIMED_OUT;
+                        break;
+                    default:
+                        status = ShutdownStatus.SKIPPED;
+                        break;
+                }
+                reports.add(new ShutdownNodeReport(
+                        i, String.valueOf(this.nodes.get(i).openable), status, this.failures.get(i), this.durations.get(i)));
+            }
+            return new ShutdownReport(reports, now - this.start);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import com.github.zvreifnitz.common.utils.Exceptions;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public final class OpenablePool<T extends Openable> extends AbstractOpenable {
+
+    private static final int IDLE = 0;
+    private static final int BORROWED = 1;
+    private static final int RESERVED = 2;
+    private static final int CLOSED = 3;
+
+    private final Supplier<? extends T> factory;
+    private final int minSize;
+    private final int maxSize;
+    private final ScheduledExecutorService maintenanceExecutor;
+    private final long maintenanceIntervalNanos;
+    private final long idleTimeoutNanos;
+    private final Predicate<? super T> validator;
+    private final ThreadLocal<Entry<T>> lastReturned;
+    private final ConcurrentLinkedDeque<Entry<T>> stack;
+    private final Set<Entry<T>> entries;
+    private final AtomicInteger size;
+    private final AtomicInteger borrowed;
+    private final Queue<Thread> waiters;
+    private final LongAdder created;
+    private final LongAdder evicted;
+    private final LongAdder maintenanceFailures;
+
+    private volatile ScheduledFuture<?> maintenance;
+    private volatile boolean closing;
+
+    public OpenablePool(
+            final Supplier<? extends T> factory, final int minSize, final int maxSize,
+            final ScheduledExecutorService maintenanceExecutor) {
+        this(factory, minSize, maxSize, maintenanceExecutor, 30L, 300L, TimeUnit.SECONDS, element -> true);
+    }
+
+    public OpenablePool(
+            final Supplier<? extends T> factory, final int minSize, final int maxSize,
+            final ScheduledExecutorService maintenanceExecutor, final long maintenanceInterval,
+            final long idleTimeout, final TimeUnit unit, final Predicate<? super T> validator) {
+        super((maintenanceExecutor instanceof Openable) ? (Openable)maintenanceExecutor : null);
+        Preconditions.checkArgument(minSize >= 0, "Min size must not be negative");
+        Preconditions.checkArgument(maxSize > 0, "Max size must be positive");
+        Preconditions.checkArgument(minSize <= maxSize, "Min size must not exceed max size %s", maxSize);
+        Preconditions.checkArgument(maintenanceInterval > 0L, "Maintenance interval must be positive");
+        Preconditions.checkArgument(idleTimeout > 0L, "Idle timeout must be positive");
+        Preconditions.checkNotNull(unit, "unit");
+        this.factory = Preconditions.checkNotNull(factory, "factory");
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maintenanceExecutor = Preconditions.checkNotNull(maintenanceExecutor, "maintenanceExecutor");
+        this.maintenanceIntervalNanos = unit.toNanos(maintenanceInterval);
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.validator = Preconditions.checkNotNull(validator, "validator");
+        this.lastReturned = new ThreadLocal<>();
+        this.stack = new ConcurrentLinkedDeque<>();
+        this.entries = ConcurrentHashMap.newKeySet();
+        this.size = new AtomicInteger();
+        this.borrowed = new AtomicInteger();
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.created = new LongAdder();
+        this.evicted = new LongAdder();
+        this.maintenanceFailures = new LongAdder();
+    }
+
+    public Lease<T> tryBorrow() {
+        this.checkOpen();
+        final Entry<T> entry = this.acquire();
+        return ((entry == null) ? null : this.lease(entry));
+    }
+
+    public Lease<T> tryBorrow(final long timeout, final TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(unit, "unit");
+        this.checkOpen();
+        Entry<T> entry = this.acquire();
+        if (entry != null) {
+            return this.lease(entry);
+        }
+        final long deadline = (System.nanoTime() + unit.toNanos(timeout));
+        final Thread current = Thread.currentThread();
+        this.waiters.offer(current);
+        try {
+            for (;;) {
+                entry = this.acquire();
+                if (entry != null) {
+                    return this.lease(entry);
+                }
+                final long remaining = (deadline - System.nanoTime());
+                if (remaining <= 0L) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                this.checkOpen();
+            }
+        } finally {
+            this.waiters.remove(current);
+            if (!this.stack.isEmpty()) {
+                this.signalWaiter();
+            }
+        }
+    }
+
+    public int getSize() {
+        return this.size.get();
+    }
+
+    public int getBorrowed() {
+        return this.borrowed.get();
+    }
+
+    public int getIdle() {
+        return Math.max(0, this.size.get() - this.borrowed.get());
+    }
+
+    public long getCreated() {
+        return this.created.sum();
+    }
+
+    public long getEvicted() {
+        return this.evicted.sum();
+    }
+
+    public long getMaintenanceFailures() {
+        return this.maintenanceFailures.sum();
+    }
+
+    @Override
+    protected void performOpen() {
+        this.closing = false;
+        for (int i = 0; i < this.minSize; i++) {
+            final Entry<T> entry = this.create();
+            if (entry == null) {
+                break;
+            }
+            this.release(entry);
+        }
+        this.maintenance = this.maintenanceExecutor.scheduleWithFixedDelay(
+                this::maintain, this.maintenanceIntervalNanos, this.maintenanceIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected void performClose() {
+        this.closing = true;
+        final ScheduledFuture<?> task = this.maintenance;
+        this.maintenance = null;
+        if (task != null) {
+            task.cancel(false);
+        }
+        final List<CompletableFuture<Void>> closing = new ArrayList<>(this.entries.size());
+        for (final Entry<T> entry : this.entries) {
+            if (entry.state.getAndSet(CLOSED) != CLOSED) {
+                closing.add(CompletableFuture.runAsync(() -> this.destroy(entry), this.maintenanceExecutor));
+            }
+        }
+        this.stack.clear();
+        try {
+            CompletableFuture.allOf(closing.toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException exc) {
+            Exceptions.throwUnchecked(exc.getCause());
+        }
+    }
+
+    private Entry<T> acquire() {
+        final Entry<T> local = this.lastReturned.get();
+        if (local != null) {
+            if (local.state.compareAndSet(IDLE, BORROWED)) {
+                return local;
+            }
+            if (local.state.get() == CLOSED) {
+                this.lastReturned.remove();
+            }
+        }
+        Entry<T> entry;
+        while ((entry = this.stack.pollFirst()) != null) {
+            entry.stacked.set(false);
+            if (entry.state.compareAndSet(IDLE, BORROWED)) {
+                return entry;
+            }
+        }
+        return this.create();
+    }
+
+    private Entry<T> create() {
+        int current;
+        do {
+            current = this.size.get();
+            if (current >= this.maxSize) {
+                return null;
+            }
+        } while (!this.size.compareAndSet(current, current + 1));
+        final T element;
+        try {
+            element = Preconditions.checkNotNull(this.factory.get(), "element");
+            element.initAsDependency(this);
+            element.openAsDependency(this);
+        } catch (final RuntimeException exc) {
+            this.size.decrementAndGet();
+            throw exc;
+        }
+        final Entry<T> entry = new Entry<>(element);
+        this.entries.add(entry);
+        this.created.increment();
+        if (this.closing) {
+            entry.state.set(CLOSED);
+            this.destroy(entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private Lease<T> lease(final Entry<T> entry) {
+        this.borrowed.incrementAndGet();
+        return new Lease<>(this, entry);
+    }
+
+    private void giveBack(final Entry<T> entry) {
+        this.borrowed.decrementAndGet();
+        if (entry.state.get() == CLOSED) {
+            return;
+        }
+        entry.lastUsedNanos = System.nanoTime();
+        this.lastReturned.set(entry);
+        this.release(entry);
+        if (!this.waiters.isEmpty()) {
+            this.signalWaiter();
+        }
+    }
+
+    private void signalWaiter() {
+        final Thread waiter = this.waiters.peek();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private void release(final Entry<T> entry) {
+        if (!entry.state.compareAndSet(BORROWED, IDLE)) {
+            return;
+        }
+        if (entry.stacked.compareAndSet(false, true)) {
+            this.stack.offerFirst(entry);
+        }
+    }
+
+    private void maintain() {
+        final long now = System.nanoTime();
+        for (final Entry<T> entry : this.entries) {
+            if (!entry.state.compareAndSet(IDLE, RESERVED)) {
+                continue;
+            }
+            final boolean expired = (((now - entry.lastUsedNanos) >= this.idleTimeoutNanos) && (this.size.get() > this.minSize));
+            boolean valid = !expired;
+            if (valid) {
+                try {
+                    valid = this.validator.test(entry.element);
+                } catch (final RuntimeException exc) {
+                    valid = false;
+                }
+            }
+            if (valid) {
+                entry.state.set(IDLE);
+                if (entry.stacked.compareAndSet(false, true)) {
+                    this.stack.offerFirst(entry);
+                    this.signalWaiter();
+                }
+                continue;
+            }
+            try {
+                this.evict(entry);
+            } catch (final RuntimeException exc) {
+                this.reportMaintenanceFailure(exc);
+            }
+        }
+        while (!this.closing && (this.size.get() < this.minSize)) {
+            final Entry<T> entry;
+            try {
+                entry = this.create();
+            } catch (final RuntimeException exc) {
+                this.reportMaintenanceFailure(exc);
+                break;
+            }
+            if (entry == null) {
+                break;
+            }
+            entry.lastUsedNanos = System.nanoTime();
+            this.release(entry);
+        }
+    }
+
+    private void reportMaintenanceFailure(final RuntimeException exc) {
+        this.maintenanceFailures.increment();
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+    }
+
+    private void evict(final Entry<T> entry) {
+        entry.state.set(CLOSED);
+        this.evicted.increment();
+        this.destroy(entry);
+    }
+
+    private void destroy(final Entry<T> entry) {
+        if (this.entries.remove(entry)) {
+            this.size.decrementAndGet();
+            entry.element.closeAsDependency(this);
+        }
+    }
+
+    public static final class Lease<T extends Openable> implements AutoCloseable {
+        private final OpenablePool<T> pool;
+        private final Entry<T> entry;
+
+        private boolean released;
+
+        private Lease(final OpenablePool<T> pool, final Entry<T> entry) {
+            this.pool = pool;
+            this.entry = entry;
+        }
+
+        public T get() {
+            Preconditions.checkState(!this.released, "Lease was already released");
+            return this.entry.element;
+        }
+
+        public void invalidate() {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            this.pool.borrowed.decrementAndGet();
+            if (this.entry.state.compareAndSet(BORROWED, CLOSED)) {
+                this.pool.evict(this.entry);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.released) {
+                return;
+            }
+            this.released = true;
+            this.pool.giveBack(this.entry);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T element;
+        private final AtomicInteger state;
+        private final AtomicBoolean stacked;
+
+        private volatile long lastUsedNanos;
+
+        private Entry(final T element) {
+            this.element = element;
+            this.state = new AtomicInteger(BORROWED);
+            this.stacked = new AtomicBoolean();
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+public final class ShutdownNodeReport {
+
+    private final int id;
+    private final String name;
+    private final ShutdownStatus status;
+    private final Throwable failure;
+    private final long durationNanos;
+
+    ShutdownNodeReport(
+            final int id, final String name, final ShutdownStatus status,
+            final Throwable failure, final long durationNanos) {
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        this.failure = failure;
+        this.durationNanos = durationNanos;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ShutdownStatus getStatus() {
+        return this.status;
+    }
+
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ShutdownNodeReport{name=" + this.name + ", status=" + this.status
+                + ", duration=" + this.durationNanos + ((this.failure == null) ? "}" : (", failure=" + this.failure + "}"));
+    }
+}
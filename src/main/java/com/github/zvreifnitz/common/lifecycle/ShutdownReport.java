@@ -0,0 +1,79 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class ShutdownReport {
+
+    private final List<ShutdownNodeReport> nodes;
+    private final long wallNanos;
+
+    ShutdownReport(final List<ShutdownNodeReport> nodes, final long wallNanos) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.wallNanos = wallNanos;
+    }
+
+    public List<ShutdownNodeReport> getNodes() {
+        return this.nodes;
+    }
+
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+    public boolean isComplete() {
+        for (final ShutdownNodeReport node : this.nodes) {
+            if (node.getStatus() != ShutdownStatus.CLOSED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<ShutdownNodeReport> getFailed() {
+        return this.withStatus(ShutdownStatus.FAILED);
+    }
+
+    public List<ShutdownNodeReport> getTimedOut() {
+        return this.withStatus(ShutdownStatus.TIMED_OUT);
+    }
+
+    public List<ShutdownNodeReport> getSkipped() {
+        return this.withStatus(ShutdownStatus.SKIPPED);
+    }
+
+    private List<ShutdownNodeReport> withStatus(final ShutdownStatus status) {
+        final List<ShutdownNodeReport> result = new ArrayList<>();
+        for (final ShutdownNodeReport node : this.nodes) {
+            if (node.getStatus() == status) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ShutdownReport{wall=" + this.wallNanos + ", complete=" + this.isComplete()
+                + ", failed=" + this.getFailed() + ", timedOut=" + this.getTimedOut()
+                + ", skipped=" + this.getSkipped() + "}";
+    }
+}
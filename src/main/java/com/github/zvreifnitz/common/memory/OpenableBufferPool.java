@@ -0,0 +1,551 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.memory;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.utils.Exceptions;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class OpenableBufferPool extends AbstractOpenable {
+
+    public static final String LEAK_DETECTION_PROPERTY = "com.github.zvreifnitz.common.bufferLeakDetection";
+
+    private static final int FREE = 0;
+    private static final int IN_USE = 1;
+    private static final int ORPHANED = 2;
+    private static final int FREED = 3;
+
+    private final int minShift;
+    private final int maxBufferSize;
+    private final int slabSize;
+    private final long maxPooledBytes;
+    private final int threadCacheSize;
+    private final boolean leakDetection;
+    private final AtomicInteger generation;
+    private final AtomicLong pooledBytes;
+    private final LongAdder unpooled;
+    private final LongAdder leaked;
+    private final LongAdder freedBytes;
+
+    private volatile ThreadLocal<LocalCache> localCaches;
+    private volatile ConcurrentLinkedQueue<LocalCache> cacheRegistry;
+    private volatile Arena[] arenas;
+    private volatile ConcurrentLinkedQueue<Slab> slabs;
+
+    public OpenableBufferPool(
+            final int minBufferSize, final int maxBufferSize, final int slabSize, final long maxPooledBytes) {
+        this(minBufferSize, maxBufferSize, slabSize, maxPooledBytes, 16, Boolean.getBoolean(LEAK_DETECTION_PROPERTY));
+    }
+
+    public OpenableBufferPool(
+            final int minBufferSize, final int maxBufferSize, final int slabSize, final long maxPooledBytes,
+            final int threadCacheSize, final boolean leakDetection) {
+        Preconditions.checkArgument(isPowerOfTwo(minBufferSize), "Min buffer size must be a power of two: %s", minBufferSize);
+        Preconditions.checkArgument(isPowerOfTwo(maxBufferSize), "Max buffer size must be a power of two: %s", maxBufferSize);
+        Preconditions.checkArgument(isPowerOfTwo(slabSize), "Slab size must be a power of two: %s", slabSize);
+        Preconditions.checkArgument(minBufferSize <= maxBufferSize, "Min buffer size must not exceed max buffer size %s", maxBufferSize);
+        Preconditions.checkArgument(maxBufferSize <= slabSize, "Max buffer size must not exceed slab size %s", slabSize);
+        Preconditions.checkArgument(maxPooledBytes >= slabSize, "Max pooled bytes must be at least one slab %s", slabSize);
+        Preconditions.checkArgument(threadCacheSize >= 0, "Thread cache size must not be negative");
+        this.minShift = Integer.numberOfTrailingZeros(minBufferSize);
+        this.maxBufferSize = maxBufferSize;
+        this.slabSize = slabSize;
+        this.maxPooledBytes = maxPooledBytes;
+        this.threadCacheSize = threadCacheSize;
+        this.leakDetection = leakDetection;
+        this.generation = new AtomicInteger();
+        this.pooledBytes = new AtomicLong();
+        this.unpooled = new LongAdder();
+        this.leaked = new LongAdder();
+        this.freedBytes = new LongAdder();
+    }
+
+    public PooledBuffer acquire(final int size) {
+        Preconditions.checkArgument(size >= 0, "Size must not be negative");
+        this.checkOpen();
+        final Arena[] currentArenas = this.arenas;
+        if (currentArenas == null) {
+            this.throwNotOpen();
+        }
+        if (size > this.maxBufferSize) {
+            return this.allocateUnpooled(size);
+        }
+        final int sizeClass = this.sizeClass(size);
+        final LocalCache cache = this.localCache();
+        PooledBuffer buffer = null;
+        if (cache != null) {
+            buffer = cache.pop(sizeClass);
+        }
+        if (buffer == null) {
+            buffer = currentArenas[sizeClass].take(this, cache);
+        }
+        if ((buffer == null) && (this.reclaimDeadCaches(currentArenas) > 0)) {
+            buffer = currentArenas[sizeClass].take(this, cache);
+        }
+        if (buffer == null) {
+            return this.allocateUnpooled(size);
+        }
+        return buffer.lease(size, this.leakDetection);
+    }
+
+    public int getMaxBufferSize() {
+        return this.maxBufferSize;
+    }
+
+    public int getSlabSize() {
+        return this.slabSize;
+    }
+
+    public long getPooledBytes() {
+        return this.pooledBytes.get();
+    }
+
+    public long getMaxPooledBytes() {
+        return this.maxPooledBytes;
+    }
+
+    public long getUnpooledAllocations() {
+        return this.unpooled.sum();
+    }
+
+    public long getLeaked() {
+        return this.leaked.sum();
+    }
+
+    public long getFreedBytes() {
+        return this.freedBytes.sum();
+    }
+
+    public boolean isLeakDetectionEnabled() {
+        return this.leakDetection;
+    }
+
+    @Override
+    protected void performOpen() {
+        final int currentGeneration = this.generation.incrementAndGet();
+        final Arena[] newArenas = new Arena[this.arenaCount()];
+        for (int i = 0; i < newArenas.length; i++) {
+            newArenas[i] = new Arena(currentGeneration, i, (1 << (this.minShift + i)), this.threadCacheSize);
+        }
+        this.slabs = new ConcurrentLinkedQueue<>();
+        this.arenas = newArenas;
+        this.cacheRegistry = new ConcurrentLinkedQueue<>();
+        this.localCaches = ((this.threadCacheSize > 0) ? new ThreadLocal<>() : null);
+    }
+
+    @Override
+    protected void performClose() {
+        final ConcurrentLinkedQueue<Slab> retired = this.slabs;
+        this.localCaches = null;
+        this.cacheRegistry = null;
+        this.arenas = null;
+        this.slabs = null;
+        this.generation.incrementAndGet();
+        if (retired == null) {
+            return;
+        }
+        final List<Throwable> leaks = (this.leakDetection ? new ArrayList<>() : null);
+        long leakedCount = 0L;
+        Slab slab;
+        while ((slab = retired.poll()) != null) {
+            leakedCount += slab.retire(this, leaks);
+        }
+        if (leakedCount > 0L) {
+            this.leaked.add(leakedCount);
+            if (leaks != null) {
+                final IllegalStateException exc = new IllegalStateException(
+                        leakedCount + " pooled buffers were not released before close");
+                for (int i = 0; i < leaks.size(); i++) {
+                    exc.addSuppressed(leaks.get(i));
+                }
+                throw exc;
+            }
+        }
+    }
+
+    private int sizeClass(final int size) {
+        if (size <= (1 << this.minShift)) {
+            return 0;
+        }
+        return (32 - Integer.numberOfLeadingZeros(size - 1) - this.minShift);
+    }
+
+    private LocalCache localCache() {
+        final ThreadLocal<LocalCache> caches = this.localCaches;
+        if (caches == null) {
+            return null;
+        }
+        LocalCache cache = caches.get();
+        if (cache == null) {
+            cache = new LocalCache(Thread.currentThread(), this.arenaCount(), this.threadCacheSize);
+            final ConcurrentLinkedQueue<LocalCache> registry = this.cacheRegistry;
+            if (registry != null) {
+                registry.add(cache);
+            }
+            caches.set(cache);
+        }
+        return cache;
+    }
+
+    private int reclaimDeadCaches(final Arena[] currentArenas) {
+        final ConcurrentLinkedQueue<LocalCache> registry = this.cacheRegistry;
+        if (registry == null) {
+            return 0;
+        }
+        int reclaimed = 0;
+        for (final LocalCache cache : registry) {
+            if (cache.thread.isAlive() || !registry.remove(cache)) {
+                continue;
+            }
+            for (int sizeClass = 0; sizeClass < currentArenas.length; sizeClass++) {
+                PooledBuffer buffer;
+                while ((buffer = cache.poll(sizeClass)) != null) {
+                    currentArenas[sizeClass].give(buffer, null);
+                    reclaimed++;
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    private int arenaCount() {
+        return (Integer.numberOfTrailingZeros(this.maxBufferSize) - this.minShift + 1);
+    }
+
+    private Slab newSlab(final int generationId, final int sizeClass, final int chunkSize) {
+        long current;
+        do {
+            current = this.pooledBytes.get();
+            if ((current + this.slabSize) > this.maxPooledBytes) {
+                return null;
+            }
+        } while (!this.pooledBytes.compareAndSet(current, current + this.slabSize));
+        final ConcurrentLinkedQueue<Slab> registry = this.slabs;
+        if ((registry == null) || (generationId != this.generation.get())) {
+            this.pooledBytes.addAndGet(-this.slabSize);
+            return null;
+        }
+        final Slab slab = new Slab(this, generationId, sizeClass, ByteBuffer.allocateDirect(this.slabSize), chunkSize);
+        registry.add(slab);
+        if (this.slabs != registry) {
+            slab.retire(this, null);
+            return null;
+        }
+        return slab;
+    }
+
+    private PooledBuffer allocateUnpooled(final int size) {
+        this.unpooled.increment();
+        final PooledBuffer buffer = new PooledBuffer(this, null, -1, ByteBuffer.allocateDirect(size));
+        return buffer.lease(size, this.leakDetection);
+    }
+
+    private void release(final PooledBuffer buffer) {
+        if (buffer.slab == null) {
+            Preconditions.checkState(buffer.state.compareAndSet(IN_USE, FREED), "Buffer was already released");
+            buffer.allocationSite = null;
+            if (DirectBuffers.free(buffer.memory)) {
+                this.freedBytes.add(buffer.memory.capacity());
+            }
+            return;
+        }
+        for (;;) {
+            final int state = buffer.state.get();
+            if (state == IN_USE) {
+                if (buffer.state.compareAndSet(IN_USE, FREE)) {
+                    break;
+                }
+            } else if (state == ORPHANED) {
+                if (buffer.state.compareAndSet(ORPHANED, FREED)) {
+                    buffer.allocationSite = null;
+                    buffer.slab.releaseOrphan(this);
+                    return;
+                }
+            } else {
+                Exceptions.throwIllegalStateException("Buffer was already released");
+            }
+        }
+        buffer.allocationSite = null;
+        if (buffer.slab.generation != this.generation.get()) {
+            return;
+        }
+        final LocalCache cache = this.localCache();
+        if ((cache != null) && cache.push(buffer)) {
+            return;
+        }
+        final Arena[] currentArenas = this.arenas;
+        if (currentArenas != null) {
+            currentArenas[buffer.sizeClass].give(buffer, cache);
+        }
+    }
+
+    private void free(final ByteBuffer memory) {
+        if (DirectBuffers.free(memory)) {
+            this.freedBytes.add(memory.capacity());
+        }
+    }
+
+    private static boolean isPowerOfTwo(final int value) {
+        return ((value > 0) && ((value & (value - 1)) == 0));
+    }
+
+    private static boolean tryLease(final PooledBuffer buffer) {
+        return buffer.state.compareAndSet(FREE, IN_USE);
+    }
+
+    public static final class PooledBuffer implements AutoCloseable {
+        private final OpenableBufferPool pool;
+        private final Slab slab;
+        private final int sizeClass;
+        private final ByteBuffer memory;
+        private final AtomicInteger state;
+
+        private volatile Throwable allocationSite;
+
+        private PooledBuffer(final OpenableBufferPool pool, final Slab slab, final int sizeClass, final ByteBuffer memory) {
+            this.pool = pool;
+            this.slab = slab;
+            this.sizeClass = sizeClass;
+            this.memory = memory;
+            this.state = new AtomicInteger((slab == null) ? IN_USE : FREE);
+        }
+
+        public ByteBuffer get() {
+            final int current = this.state.get();
+            Preconditions.checkState((current == IN_USE) || (current == ORPHANED), "Buffer was already released");
+            return this.memory;
+        }
+
+        public int getCapacity() {
+            return this.memory.capacity();
+        }
+
+        public boolean isPooled() {
+            return (this.slab != null);
+        }
+
+        public void release() {
+            this.pool.release(this);
+        }
+
+        @Override
+        public void close() {
+            this.release();
+        }
+
+        private PooledBuffer lease(final int size, final boolean trackAllocation) {
+            final Buffer view = this.memory;
+            view.clear();
+            view.limit(size);
+            this.memory.order(ByteOrder.BIG_ENDIAN);
+            if (trackAllocation) {
+                this.allocationSite = new Throwable("Pooled buffer of " + size + " bytes acquired here");
+            }
+            return this;
+        }
+    }
+
+    private static final class Slab {
+        private final int generation;
+        private final ByteBuffer memory;
+        private final PooledBuffer[] chunks;
+        private final AtomicInteger orphans;
+        private final AtomicBoolean retired;
+
+        private Slab(
+                final OpenableBufferPool pool, final int generation, final int sizeClass,
+                final ByteBuffer memory, final int chunkSize) {
+            this.generation = generation;
+            this.memory = memory;
+            this.chunks = new PooledBuffer[memory.capacity() / chunkSize];
+            this.orphans = new AtomicInteger(1);
+            this.retired = new AtomicBoolean();
+            for (int i = 0; i < this.chunks.length; i++) {
+                final ByteBuffer duplicate = memory.duplicate();
+                final Buffer window = duplicate;
+                window.position(i * chunkSize);
+                window.limit((i + 1) * chunkSize);
+                this.chunks[i] = new PooledBuffer(pool, this, sizeClass, duplicate.slice());
+            }
+        }
+
+        private int retire(final OpenableBufferPool pool, final List<Throwable> leaks) {
+            if (!this.retired.compareAndSet(false, true)) {
+                return 0;
+            }
+            pool.pooledBytes.addAndGet(-this.memory.capacity());
+            int orphaned = 0;
+            for (int i = 0; i < this.chunks.length; i++) {
+                final PooledBuffer chunk = this.chunks[i];
+                for (;;) {
+                    if (chunk.state.compareAndSet(FREE, FREED)) {
+                        break;
+                    }
+                    if (chunk.state.get() != IN_USE) {
+                        break;
+                    }
+                    this.orphans.incrementAndGet();
+                    if (chunk.state.compareAndSet(IN_USE, ORPHANED)) {
+                        orphaned++;
+                        final Throwable site = chunk.allocationSite;
+                        if ((leaks != null) && (site != null)) {
+                            leaks.add(site);
+                        }
+                        break;
+                    }
+                    this.orphans.decrementAndGet();
+                }
+            }
+            this.releaseOrphan(pool);
+            return orphaned;
+        }
+
+        private void releaseOrphan(final OpenableBufferPool pool) {
+            if (this.orphans.decrementAndGet() == 0) {
+                pool.free(this.memory);
+            }
+        }
+    }
+
+    private static final class Arena {
+        private final int generation;
+        private final int sizeClass;
+        private final int chunkSize;
+        private final int batchSize;
+
+        private PooledBuffer[] stack;
+        private int size;
+
+        private Arena(final int generation, final int sizeClass, final int chunkSize, final int threadCacheSize) {
+            this.generation = generation;
+            this.sizeClass = sizeClass;
+            this.chunkSize = chunkSize;
+            this.batchSize = Math.max(1, threadCacheSize / 2);
+            this.stack = new PooledBuffer[16];
+        }
+
+        private synchronized PooledBuffer take(final OpenableBufferPool pool, final LocalCache cache) {
+            for (;;) {
+                if ((this.size == 0) && !this.grow(pool)) {
+                    return null;
+                }
+                final PooledBuffer buffer = this.stack[--this.size];
+                this.stack[this.size] = null;
+                if (!tryLease(buffer)) {
+                    continue;
+                }
+                if (cache != null) {
+                    int moved = 0;
+                    while ((moved < this.batchSize) && (this.size > 0) && cache.push(this.stack[this.size - 1])) {
+                        this.stack[--this.size] = null;
+                        moved++;
+                    }
+                }
+                return buffer;
+            }
+        }
+
+        private synchronized void give(final PooledBuffer buffer, final LocalCache cache) {
+            this.push(buffer);
+            if (cache != null) {
+                PooledBuffer spilled;
+                int moved = 0;
+                while ((moved < this.batchSize) && ((spilled = cache.poll(this.sizeClass)) != null)) {
+                    this.push(spilled);
+                    moved++;
+                }
+            }
+        }
+
+        private boolean grow(final OpenableBufferPool pool) {
+            final Slab slab = pool.newSlab(this.generation, this.sizeClass, this.chunkSize);
+            if (slab == null) {
+                return false;
+            }
+            for (int i = (slab.chunks.length - 1); i >= 0; i--) {
+                this.push(slab.chunks[i]);
+            }
+            return true;
+        }
+
+        private void push(final PooledBuffer buffer) {
+            if (this.size == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+            }
+            this.stack[this.size++] = buffer;
+        }
+    }
+
+    private static final class LocalCache {
+        private final Thread thread;
+        private final PooledBuffer[][] stacks;
+        private final int[] sizes;
+
+        private LocalCache(final Thread thread, final int sizeClasses, final int capacity) {
+            this.thread = thread;
+            this.stacks = new PooledBuffer[sizeClasses][capacity];
+            this.sizes = new int[sizeClasses];
+        }
+
+        private PooledBuffer pop(final int sizeClass) {
+            PooledBuffer buffer;
+            while ((buffer = this.poll(sizeClass)) != null) {
+                if (tryLease(buffer)) {
+                    return buffer;
+                }
+            }
+            return null;
+        }
+
+        private PooledBuffer poll(final int sizeClass) {
+            final int size = this.sizes[sizeClass];
+            if (size == 0) {
+                return null;
+            }
+            final PooledBuffer[] stack = this.stacks[sizeClass];
+            final PooledBuffer buffer = stack[size - 1];
+            stack[size - 1] = null;
+            this.sizes[sizeClass] = (size - 1);
+            return buffer;
+        }
+
+        private boolean push(final PooledBuffer buffer) {
+            final int sizeClass = buffer.sizeClass;
+            final int size = this.sizes[sizeClass];
+            final PooledBuffer[] stack = this.stacks[sizeClass];
+            if (size == stack.length) {
+                return false;
+            }
+            stack[size] = buffer;
+            this.sizes[sizeClass] = (size + 1);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+final class AdaptivePoolController {
+
+    private static final double IMPROVEMENT = 1.05;
+    private static final int PROBE_INTERVALS = 10;
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final int step;
+    private final long targetQueueWaitNanos;
+
+    private int lastSize;
+    private double lastThroughput;
+    private int ceiling;
+    private int intervalsSinceCeiling;
+
+    AdaptivePoolController(final int minThreads, final int maxThreads, final int step, final long targetQueueWaitNanos) {
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.step = step;
+        this.targetQueueWaitNanos = targetQueueWaitNanos;
+        this.lastSize = -1;
+        this.ceiling = -1;
+    }
+
+    int nextSize(
+            final int currentSize, final int activeThreads, final long queuedTasks,
+            final double throughput, final long meanQueueWaitNanos) {
+        if ((this.lastSize >= 0) && (this.lastSize < currentSize) && (throughput < (this.lastThroughput * IMPROVEMENT))) {
+            this.ceiling = this.lastSize;
+            this.intervalsSinceCeiling = 0;
+        }
+        if ((this.ceiling >= 0) && (++this.intervalsSinceCeiling >= PROBE_INTERVALS)) {
+            this.ceiling = -1;
+        }
+        final boolean saturated = ((queuedTasks > 0L) && (meanQueueWaitNanos > this.targetQueueWaitNanos));
+        final boolean idle = ((queuedTasks == 0L) && (activeThreads < (currentSize - 1))
+                && (meanQueueWaitNanos < (this.targetQueueWaitNanos / 2L)));
+        int next = currentSize;
+        if (saturated && ((this.ceiling < 0) || (currentSize < this.ceiling))) {
+            next = (currentSize + this.step);
+        } else if (saturated && (currentSize > this.ceiling)) {
+            next = (currentSize - this.step);
+        } else if (idle) {
+            next = Math.max(activeThreads + 1, currentSize - this.step);
+            this.ceiling = -1;
+        }
+        next = Math.max(this.minThreads, Math.min(this.maxThreads, next));
+        this.lastSize = currentSize;
+        this.lastThroughput = throughput;
+        return next;
+    }
+}
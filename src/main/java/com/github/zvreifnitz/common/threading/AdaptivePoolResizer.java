@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class AdaptivePoolResizer {
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorMetrics metrics;
+    private final AdaptivePoolController controller;
+    private final ScheduledThreadPoolExecutor ticker;
+    private final LongAdder failures;
+
+    private ExecutorMetricsSnapshot previous;
+
+    AdaptivePoolResizer(final ThreadPoolExecutor pool, final ExecutorMetrics metrics, final AdaptivePoolSizing sizing) {
+        this.pool = Preconditions.checkNotNull(pool, "pool");
+        this.metrics = Preconditions.checkNotNull(metrics, "metrics");
+        this.controller = sizing.newController();
+        this.failures = new LongAdder();
+        this.ticker = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "adaptive-pool-" + metrics.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.previous = metrics.snapshot();
+        this.ticker.scheduleWithFixedDelay(
+                this::resize, sizing.getIntervalNanos(), sizing.getIntervalNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void stop() {
+        this.ticker.shutdownNow();
+        boolean interrupted = false;
+        while (!this.ticker.isTerminated()) {
+            try {
+                this.ticker.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getFailures() {
+        return this.failures.sum();
+    }
+
+    private void resize() {
+        try {
+            this.resizeNow();
+        } catch (final RuntimeException exc) {
+            this.failures.increment();
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+        }
+    }
+
+    private void resizeNow() {
+        final ExecutorMetricsSnapshot current = this.metrics.snapshot();
+        final LatencySnapshot wait = current.getQueueWait();
+        final LatencySnapshot previousWait = this.previous.getQueueWait();
+        final long started = (wait.getCount() - previousWait.getCount());
+        final long meanWait = ((started <= 0L)
+                ? ((current.getQueuedTasks() > 0L) ? Long.MAX_VALUE : 0L)
+                : (long)(((wait.getMean() * wait.getCount()) - (previousWait.getMean() * previousWait.getCount())) / started));
+        final int size = this.pool.getMaximumPoolSize();
+        final int next = this.controller.nextSize(size, this.pool.getActiveCount(), current.getQueuedTasks(),
+                current.throughputPerSecondSince(this.previous), meanWait);
+        this.previous = current;
+        if (next > size) {
+            this.pool.setMaximumPoolSize(next);
+            this.pool.setCorePoolSize(next);
+        } else if (next < size) {
+            this.pool.setCorePoolSize(next);
+            this.pool.setMaximumPoolSize(next);
+        }
+    }
+}
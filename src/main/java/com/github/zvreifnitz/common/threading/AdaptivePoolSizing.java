@@ -0,0 +1,76 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+public final class AdaptivePoolSizing {
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final int step;
+    private final long intervalNanos;
+    private final long targetQueueWaitNanos;
+
+    private AdaptivePoolSizing(
+            final int minThreads, final int maxThreads, final int step,
+            final long intervalNanos, final long targetQueueWaitNanos) {
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.step = step;
+        this.intervalNanos = intervalNanos;
+        this.targetQueueWaitNanos = targetQueueWaitNanos;
+    }
+
+    public static AdaptivePoolSizing hillClimbing(
+            final int minThreads, final int maxThreads, final long interval, final TimeUnit intervalUnit,
+            final long targetQueueWait, final TimeUnit targetQueueWaitUnit) {
+        Preconditions.checkNotNull(intervalUnit, "intervalUnit");
+        Preconditions.checkNotNull(targetQueueWaitUnit, "targetQueueWaitUnit");
+        Preconditions.checkArgument(minThreads > 0, "Min threads must be positive");
+        Preconditions.checkArgument(maxThreads >= minThreads, "Max threads must not be less than min threads");
+        Preconditions.checkArgument(interval > 0L, "Interval must be positive");
+        Preconditions.checkArgument(targetQueueWait > 0L, "Target queue wait must be positive");
+        final int step = Math.max(1, (maxThreads - minThreads) / 16);
+        return new AdaptivePoolSizing(minThreads, maxThreads, step,
+                intervalUnit.toNanos(interval), targetQueueWaitUnit.toNanos(targetQueueWait));
+    }
+
+    public int getMinThreads() {
+        return this.minThreads;
+    }
+
+    public int getMaxThreads() {
+        return this.maxThreads;
+    }
+
+    public long getIntervalNanos() {
+        return this.intervalNanos;
+    }
+
+    public long getTargetQueueWaitNanos() {
+        return this.targetQueueWaitNanos;
+    }
+
+    AdaptivePoolController newController() {
+        return new AdaptivePoolController(
+                this.minThreads, this.maxThreads, this.step, this.targetQueueWaitNanos);
+    }
+}
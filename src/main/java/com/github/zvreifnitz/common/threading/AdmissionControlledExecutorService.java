@@ -0,0 +1,118 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+final class AdmissionControlledExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    final AdmissionController controller;
+    private final ExecutorMetrics metrics;
+
+    AdmissionControlledExecutorService(
+            final ExecutorService delegate, final AdmissionController controller, final ExecutorMetrics metrics) {
+        this.delegate = delegate;
+        this.controller = controller;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pending = this.delegate.shutdownNow();
+        final List<Runnable> result = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            final Runnable task = pending.get(i);
+            if (task instanceof AdmittedTask) {
+                this.controller.onAbandoned();
+                result.add(((AdmittedTask)task).task);
+            } else {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        switch (this.controller.admit()) {
+            case ADMIT:
+                try {
+                    this.delegate.execute(new AdmittedTask(command, this.controller));
+                } catch (final RejectedExecutionException exc) {
+                    this.controller.onAbandoned();
+                    throw exc;
+                }
+                break;
+            case RUN_ON_CALLER:
+                ((this.metrics == null) ? command : this.metrics.wrap(command)).run();
+                break;
+            default:
+                if (this.metrics != null) {
+                    this.metrics.recordRejected();
+                }
+                throw new RejectedExecutionException("Task shed by admission control");
+        }
+    }
+
+    private static final class AdmittedTask implements Runnable {
+        private final Runnable task;
+        private final AdmissionController controller;
+        private final long enqueuedAt;
+
+        private AdmittedTask(final Runnable task, final AdmissionController controller) {
+            this.task = task;
+            this.controller = controller;
+            this.enqueuedAt = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            this.controller.onStart(System.nanoTime() - this.enqueuedAt);
+            this.task.run();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+abstract class AdmissionController {
+
+    enum Decision {
+        ADMIT,
+        REJECT,
+        RUN_ON_CALLER
+    }
+
+    private final LongAdder admitted;
+    private final LongAdder shed;
+    private final LongAdder callerRuns;
+
+    AdmissionController() {
+        this.admitted = new LongAdder();
+        this.shed = new LongAdder();
+        this.callerRuns = new LongAdder();
+    }
+
+    final Decision admit() {
+        final Decision decision = this.decide();
+        switch (decision) {
+            case ADMIT:
+                this.admitted.increment();
+                break;
+            case REJECT:
+                this.shed.increment();
+                break;
+            default:
+                this.callerRuns.increment();
+                break;
+        }
+        return decision;
+    }
+
+    final AdmissionStats stats() {
+        return new AdmissionStats(this.admitted.sum(), this.shed.sum(), this.callerRuns.sum(), this.isShedding());
+    }
+
+    abstract Decision decide();
+
+    abstract void onStart(final long sojournNanos);
+
+    abstract void onAbandoned();
+
+    boolean isShedding() {
+        return false;
+    }
+
+    static final class BlockWithTimeout extends AdmissionController {
+        private final Semaphore permits;
+        private final long timeoutNanos;
+
+        BlockWithTimeout(final int maxQueued, final long timeoutNanos) {
+            this.permits = new Semaphore(maxQueued);
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        @Override
+        Decision decide() {
+            if (this.permits.tryAcquire()) {
+                return Decision.ADMIT;
+            }
+            try {
+                return (this.permits.tryAcquire(this.timeoutNanos, TimeUnit.NANOSECONDS) ? Decision.ADMIT : Decision.REJECT);
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return Decision.REJECT;
+            }
+        }
+
+        @Override
+        void onStart(final long sojournNanos) {
+            this.permits.release();
+        }
+
+        @Override
+        void onAbandoned() {
+            this.permits.release();
+        }
+    }
+
+    static final class CallerRuns extends AdmissionController {
+        private final int maxQueued;
+        private final AtomicInteger queued;
+
+        CallerRuns(final int maxQueued) {
+            this.maxQueued = maxQueued;
+            this.queued = new AtomicInteger();
+        }
+
+        @Override
+        Decision decide() {
+            int current;
+            do {
+                current = this.queued.get();
+                if (current >= this.maxQueued) {
+                    return Decision.RUN_ON_CALLER;
+                }
+            } while (!this.queued.compareAndSet(current, current + 1));
+            return Decision.ADMIT;
+        }
+
+        @Override
+        void onStart(final long sojournNanos) {
+            this.queued.decrementAndGet();
+        }
+
+        @Override
+        void onAbandoned() {
+            this.queued.decrementAndGet();
+        }
+    }
+
+    static final class CoDel extends AdmissionController {
+        private final long targetNanos;
+        private final long intervalNanos;
+        private final AtomicLong firstAboveTime;
+        private final AtomicLong lastStart;
+
+        private volatile boolean dropping;
+
+        CoDel(final long targetNanos, final long intervalNanos) {
+            this.targetNanos = targetNanos;
+            this.intervalNanos = intervalNanos;
+            this.firstAboveTime = new AtomicLong();
+            this.lastStart = new AtomicLong(System.nanoTime());
+        }
+
+        @Override
+        Decision decide() {
+            if (this.dropping) {
+                if ((System.nanoTime() - this.lastStart.get()) > this.intervalNanos) {
+                    this.dropping = false;
+                    this.firstAboveTime.set(0L);
+                    return Decision.ADMIT;
+                }
+                return Decision.REJECT;
+            }
+            return Decision.ADMIT;
+        }
+
+        @Override
+        void onStart(final long sojournNanos) {
+            final long now = System.nanoTime();
+            this.lastStart.lazySet(now);
+            if (sojournNanos < this.targetNanos) {
+                if (this.firstAboveTime.get() != 0L) {
+                    this.firstAboveTime.set(0L);
+                }
+                if (this.dropping) {
+                    this.dropping = false;
+                }
+                return;
+            }
+            final long firstAbove = this.firstAboveTime.get();
+            if (firstAbove == 0L) {
+                this.firstAboveTime.compareAndSet(0L, now + this.intervalNanos);
+            } else if (!this.dropping && ((now - firstAbove) >= 0L)) {
+                this.dropping = true;
+            }
+        }
+
+        @Override
+        void onAbandoned() {
+        }
+
+        @Override
+        boolean isShedding() {
+            return this.dropping;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+public final class AdmissionPolicy {
+
+    enum Kind {
+        BLOCK_WITH_TIMEOUT,
+        CALLER_RUNS,
+        CODEL
+    }
+
+    private final Kind kind;
+    private final int maxQueued;
+    private final long timeoutNanos;
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    private AdmissionPolicy(
+            final Kind kind, final int maxQueued, final long timeoutNanos,
+            final long targetNanos, final long intervalNanos) {
+        this.kind = kind;
+        this.maxQueued = maxQueued;
+        this.timeoutNanos = timeoutNanos;
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+    }
+
+    public static AdmissionPolicy blockWithTimeout(final int maxQueued, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(maxQueued > 0, "Max queued must be positive");
+        Preconditions.checkArgument(timeout >= 0L, "Timeout must not be negative");
+        return new AdmissionPolicy(Kind.BLOCK_WITH_TIMEOUT, maxQueued, unit.toNanos(timeout), 0L, 0L);
+    }
+
+    public static AdmissionPolicy callerRuns(final int maxQueued) {
+        Preconditions.checkArgument(maxQueued > 0, "Max queued must be positive");
+        return new AdmissionPolicy(Kind.CALLER_RUNS, maxQueued, 0L, 0L, 0L);
+    }
+
+    public static AdmissionPolicy codel(final long target, final long interval, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(target > 0L, "Target must be positive");
+        Preconditions.checkArgument(interval > 0L, "Interval must be positive");
+        return new AdmissionPolicy(Kind.CODEL, 0, 0L, unit.toNanos(target), unit.toNanos(interval));
+    }
+
+    AdmissionController newController() {
+        switch (this.kind) {
+            case BLOCK_WITH_TIMEOUT:
+                return new AdmissionController.BlockWithTimeout(this.maxQueued, this.timeoutNanos);
+            case CALLER_RUNS:
+                return new AdmissionController.CallerRuns(this.maxQueued);
+            default:
+                return new AdmissionController.CoDel(this.targetNanos, this.intervalNanos);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+public final class AdmissionStats {
+
+    private final long admittedTasks;
+    private final long shedTasks;
+    private final long callerRunsTasks;
+    private final boolean shedding;
+
+    AdmissionStats(final long admittedTasks, final long shedTasks, final long callerRunsTasks, final boolean shedding) {
+        this.admittedTasks = admittedTasks;
+        this.shedTasks = shedTasks;
+        this.callerRunsTasks = callerRunsTasks;
+        this.shedding = shedding;
+    }
+
+    public long getAdmittedTasks() {
+        return this.admittedTasks;
+    }
+
+    public long getShedTasks() {
+        return this.shedTasks;
+    }
+
+    public long getCallerRunsTasks() {
+        return this.callerRunsTasks;
+    }
+
+    public boolean isShedding() {
+        return this.shedding;
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionStats{admitted=" + this.admittedTasks + ", shed=" + this.shedTasks
+                + ", callerRuns=" + this.callerRunsTasks + ", shedding=" + this.shedding + "}";
+    }
+}
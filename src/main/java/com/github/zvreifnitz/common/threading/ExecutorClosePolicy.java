@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public final class ExecutorClosePolicy {
+
+    private static final long UNBOUNDED = -1L;
+    private static final ExecutorClosePolicy AWAIT_TERMINATION = new ExecutorClosePolicy(UNBOUNDED, UNBOUNDED);
+
+    private final long drainNanos;
+    private final long terminationNanos;
+
+    private ExecutorClosePolicy(final long drainNanos, final long terminationNanos) {
+        this.drainNanos = drainNanos;
+        this.terminationNanos = terminationNanos;
+    }
+
+    public static ExecutorClosePolicy awaitTermination() {
+        return AWAIT_TERMINATION;
+    }
+
+    public static ExecutorClosePolicy drainThenShutdownNow(
+            final long drainTimeout, final long terminationTimeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(drainTimeout >= 0L, "Drain timeout must not be negative");
+        Preconditions.checkArgument(terminationTimeout >= 0L, "Termination timeout must not be negative");
+        return new ExecutorClosePolicy(unit.toNanos(drainTimeout), unit.toNanos(terminationTimeout));
+    }
+
+    public boolean isBounded() {
+        return (this.drainNanos != UNBOUNDED);
+    }
+
+    ExecutorCloseReport close(final ExecutorService executor) {
+        return this.close(executor, executor);
+    }
+
+    ExecutorCloseReport close(final ExecutorService executor, final ExecutorService underlying) {
+        final long start = System.nanoTime();
+        final ThreadPoolExecutor pool = ((underlying instanceof ThreadPoolExecutor) ? (ThreadPoolExecutor)underlying : null);
+        final long completedBefore = ((pool == null) ? 0L : pool.getCompletedTaskCount());
+        executor.shutdown();
+        if (!this.isBounded()) {
+            awaitTerminationUninterruptibly(executor);
+            return this.report(executor, pool, completedBefore, 0, start);
+        }
+        boolean interrupted = !awaitTermination(executor, this.drainNanos);
+        int dropped = 0;
+        if (!executor.isTerminated()) {
+            final List<Runnable> pending = executor.shutdownNow();
+            dropped = pending.size();
+            for (int i = 0; i < pending.size(); i++) {
+                final Runnable task = pending.get(i);
+                if (task instanceof Future) {
+                    ((Future<?>)task).cancel(false);
+                }
+            }
+            if (!interrupted) {
+                interrupted = !awaitTermination(executor, this.terminationNanos);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return this.report(executor, pool, completedBefore, dropped, start);
+    }
+
+    private ExecutorCloseReport report(
+            final ExecutorService executor, final ThreadPoolExecutor pool,
+            final long completedBefore, final int dropped, final long start) {
+        final boolean terminated = executor.isTerminated();
+        final long drained = ((pool == null) ? -1L : (pool.getCompletedTaskCount() - completedBefore));
+        final int running = (terminated ? 0 : ((pool == null) ? -1 : pool.getActiveCount()));
+        return new ExecutorCloseReport(drained, dropped, running, terminated, System.nanoTime() - start);
+    }
+
+    private static void awaitTerminationUninterruptibly(final ExecutorService executor) {
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (final Exception ignored) {
+            }
+        }
+    }
+
+    private static boolean awaitTermination(final ExecutorService executor, final long nanos) {
+        try {
+            executor.awaitTermination(nanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final InterruptedException exc) {
+            return false;
+        }
+    }
+}
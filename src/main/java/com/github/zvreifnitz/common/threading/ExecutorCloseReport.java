@@ -0,0 +1,66 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+public final class ExecutorCloseReport {
+
+    static final ExecutorCloseReport NONE = new ExecutorCloseReport(0L, 0, 0, true, 0L);
+
+    private final long drainedTasks;
+    private final int droppedTasks;
+    private final int runningTasks;
+    private final boolean terminated;
+    private final long durationNanos;
+
+    ExecutorCloseReport(
+            final long drainedTasks, final int droppedTasks, final int runningTasks,
+            final boolean terminated, final long durationNanos) {
+        this.drainedTasks = drainedTasks;
+        this.droppedTasks = droppedTasks;
+        this.runningTasks = runningTasks;
+        this.terminated = terminated;
+        this.durationNanos = durationNanos;
+    }
+
+    public long getDrainedTasks() {
+        return this.drainedTasks;
+    }
+
+    public int getDroppedTasks() {
+        return this.droppedTasks;
+    }
+
+    public int getRunningTasks() {
+        return this.runningTasks;
+    }
+
+    public boolean isTerminated() {
+        return this.terminated;
+    }
+
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorCloseReport{drained=" + this.drainedTasks + ", dropped=" + this.droppedTasks
+                + ", running=" + this.runningTasks + ", terminated=" + this.terminated
+                + ", durationNanos=" + this.durationNanos + "}";
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Exceptions;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ExecutorMetrics implements ExecutorMetricsMXBean {
+
+    private static final String JMX_DOMAIN = "com.github.zvreifnitz.common";
+
+    private final String name;
+    private final LongAdder submitted;
+    private final LongAdder started;
+    private final LongAdder completed;
+    private final LongAdder failed;
+    private final LongAdder rejected;
+    private final LatencyHistogram queueWait;
+    private final LatencyHistogram execution;
+    private final LatencyHistogram scheduleLateness;
+
+    private volatile ThreadPoolExecutor pool;
+    private volatile ObjectName objectName;
+
+    public ExecutorMetrics(final String name) {
+        this.name = Preconditions.checkNotNull(name, "name");
+        this.submitted = new LongAdder();
+        this.started = new LongAdder();
+        this.completed = new LongAdder();
+        this.failed = new LongAdder();
+        this.rejected = new LongAdder();
+        this.queueWait = new LatencyHistogram();
+        this.execution = new LatencyHistogram();
+        this.scheduleLateness = new LatencyHistogram();
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ExecutorMetricsSnapshot snapshot() {
+        final long timestamp = System.nanoTime();
+        final long submitted = this.submitted.sum();
+        final long started = this.started.sum();
+        final long finished = (this.completed.sum() + this.failed.sum());
+        final ThreadPoolExecutor pool = this.pool;
+        final long active = ((pool == null) ? Math.max(0L, started - finished) : pool.getActiveCount());
+        final long queued = ((pool == null) ? Math.max(0L, submitted - started) : pool.getQueue().size());
+        return new ExecutorMetricsSnapshot(this.name, timestamp,
+                submitted, this.completed.sum(), this.failed.sum(), this.rejected.sum(), active, queued,
+                this.queueWait.snapshot(), this.execution.snapshot(), this.scheduleLateness.snapshot());
+    }
+
+    @Override
+    public long getSubmittedTasks() {
+        return this.submitted.sum();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return this.completed.sum();
+    }
+
+    @Override
+    public long getFailedTasks() {
+        return this.failed.sum();
+    }
+
+    @Override
+    public long getRejectedTasks() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public long getActiveTasks() {
+        return this.snapshot().getActiveTasks();
+    }
+
+    @Override
+    public long getQueuedTasks() {
+        return this.snapshot().getQueuedTasks();
+    }
+
+    @Override
+    public long getQueueWaitP50Nanos() {
+        return this.queueWait.snapshot().getP50();
+    }
+
+    @Override
+    public long getQueueWaitP99Nanos() {
+        return this.queueWait.snapshot().getP99();
+    }
+
+    @Override
+    public long getQueueWaitP999Nanos() {
+        return this.queueWait.snapshot().getP999();
+    }
+
+    @Override
+    public long getQueueWaitMaxNanos() {
+        return this.queueWait.snapshot().getMax();
+    }
+
+    @Override
+    public long getExecutionP50Nanos() {
+        return this.execution.snapshot().getP50();
+    }
+
+    @Override
+    public long getExecutionP99Nanos() {
+        return this.execution.snapshot().getP99();
+    }
+
+    @Override
+    public long getExecutionP999Nanos() {
+        return this.execution.snapshot().getP999();
+    }
+
+    @Override
+    public long getExecutionMaxNanos() {
+        return this.execution.snapshot().getMax();
+    }
+
+    @Override
+    public long getScheduleLatenessP50Nanos() {
+        return this.scheduleLateness.snapshot().getP50();
+    }
+
+    @Override
+    public long getScheduleLatenessP99Nanos() {
+        return this.scheduleLateness.snapshot().getP99();
+    }
+
+    @Override
+    public long getScheduleLatenessP999Nanos() {
+        return this.scheduleLateness.snapshot().getP999();
+    }
+
+    @Override
+    public long getScheduleLatenessMaxNanos() {
+        return this.scheduleLateness.snapshot().getMax();
+    }
+
+    void bind(final ExecutorService executor) {
+        this.pool = ((executor instanceof ThreadPoolExecutor) ? (ThreadPoolExecutor)executor : null);
+        try {
+            final ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=OpenableExecutor,name=" + ObjectName.quote(this.name));
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+                this.objectName = objectName;
+            }
+        } catch (final Exception exc) {
+            Exceptions.throwUnchecked(exc);
+        }
+    }
+
+    void unbind() {
+        this.pool = null;
+        final ObjectName objectName = this.objectName;
+        this.objectName = null;
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (final Exception exc) {
+            Exceptions.throwUnchecked(exc);
+        }
+    }
+
+    void recordRejected() {
+        this.submitted.decrement();
+        this.rejected.increment();
+    }
+
+    Runnable wrap(final Runnable task) {
+        Preconditions.checkNotNull(task, "task");
+        this.submitted.increment();
+        return new InstrumentedRunnable(task, System.nanoTime(), 0L, false);
+    }
+
+    static Runnable unwrap(final Runnable task) {
+        return ((task instanceof InstrumentedRunnable) ? ((InstrumentedRunnable)task).task : task);
+    }
+
+    <T> Callable<T> wrap(final Callable<T> task) {
+        Preconditions.checkNotNull(task, "task");
+        this.submitted.increment();
+        return new InstrumentedCallable<>(task, System.nanoTime(), 0L, false);
+    }
+
+    Runnable wrapScheduled(final Runnable task, final long delay, final TimeUnit unit) {
+        Preconditions.checkNotNull(task, "task");
+        this.submitted.increment();
+        return new InstrumentedRunnable(task, System.nanoTime(), unit.toNanos(Math.max(0L, delay)), true);
+    }
+
+    <T> Callable<T> wrapScheduled(final Callable<T> task, final long delay, final TimeUnit unit) {
+        Preconditions.checkNotNull(task, "task");
+        this.submitted.increment();
+        return new InstrumentedCallable<>(task, System.nanoTime(), unit.toNanos(Math.max(0L, delay)), true);
+    }
+
+    Runnable wrapFixedRate(final Runnable task, final long initialDelay, final long period, final TimeUnit unit) {
+        Preconditions.checkNotNull(task, "task");
+        this.submitted.increment();
+        return new PeriodicRunnable(task, System.nanoTime() + unit.toNanos(Math.max(0L, initialDelay)), unit.toNanos(period), true);
+    }
+
+    Runnable wrapFixedDelay(final Runnable task, final long initialDelay, final long delay, final TimeUnit unit) {
+        Preconditions.checkNotNull(task, "task");
+        this.submitted.increment();
+        return new PeriodicRunnable(task, System.nanoTime() + unit.toNanos(Math.max(0L, initialDelay)), unit.toNanos(delay), false);
+    }
+
+    private long beforeRun(final long dueNanos, final boolean scheduled) {
+        final long start = System.nanoTime();
+        this.started.increment();
+        if (scheduled) {
+            this.scheduleLateness.record(start - dueNanos);
+        } else {
+            this.queueWait.record(start - dueNanos);
+        }
+        return start;
+    }
+
+    private void afterRun(final long start, final boolean success) {
+        this.execution.record(System.nanoTime() - start);
+        if (success) {
+            this.completed.increment();
+        } else {
+            this.failed.increment();
+        }
+    }
+
+    private final class InstrumentedRunnable implements Runnable {
+        private final Runnable task;
+        private final long dueNanos;
+        private final boolean scheduled;
+
+        private InstrumentedRunnable(final Runnable task, final long submitNanos, final long delayNanos, final boolean scheduled) {
+            this.task = task;
+            this.dueNanos = (submitNanos + delayNanos);
+            this.scheduled = scheduled;
+        }
+
+        @Override
+        public void run() {
+            final long start = ExecutorMetrics.this.beforeRun(this.dueNanos, this.scheduled);
+            boolean success = false;
+            try {
+                this.task.run();
+                success = true;
+            } finally {
+                ExecutorMetrics.this.afterRun(start, success);
+            }
+        }
+    }
+
+    private final class InstrumentedCallable<T> implements Callable<T> {
+        private final Callable<T> task;
+        private final long dueNanos;
+        private final boolean scheduled;
+
+        private InstrumentedCallable(final Callable<T> task, final long submitNanos, final long delayNanos, final boolean scheduled) {
+            this.task = task;
+            this.dueNanos = (submitNanos + delayNanos);
+            this.scheduled = scheduled;
+        }
+
+        @Override
+        public T call() throws Exception {
+            final long start = ExecutorMetrics.this.beforeRun(this.dueNanos, this.scheduled);
+            boolean success = false;
+            try {
+                final T result = this.task.call();
+                success = true;
+                return result;
+            } finally {
+                ExecutorMetrics.this.afterRun(start, success);
+            }
+        }
+    }
+
+    private final class PeriodicRunnable implements Runnable {
+        private final Runnable task;
+        private final long periodNanos;
+        private final boolean fixedRate;
+
+        private long dueNanos;
+        private boolean first;
+
+        private PeriodicRunnable(final Runnable task, final long firstDueNanos, final long periodNanos, final boolean fixedRate) {
+            this.task = task;
+            this.dueNanos = firstDueNanos;
+            this.periodNanos = periodNanos;
+            this.fixedRate = fixedRate;
+            this.first = true;
+        }
+
+        @Override
+        public void run() {
+            if (this.first) {
+                this.first = false;
+            } else {
+                ExecutorMetrics.this.submitted.increment();
+            }
+            final long start = ExecutorMetrics.this.beforeRun(this.dueNanos, true);
+            boolean success = false;
+            try {
+                this.task.run();
+                success = true;
+            } finally {
+                ExecutorMetrics.this.afterRun(start, success);
+                this.dueNanos = (this.fixedRate ? (this.dueNanos + this.periodNanos) : (System.nanoTime() + this.periodNanos));
+            }
+        }
+    }
+}
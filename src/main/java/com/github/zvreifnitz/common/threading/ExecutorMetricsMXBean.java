@@ -0,0 +1,42 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+public interface ExecutorMetricsMXBean {
+    long getSubmittedTasks();
+    long getCompletedTasks();
+    long getFailedTasks();
+    long getRejectedTasks();
+    long getActiveTasks();
+    long getQueuedTasks();
+
+    long getQueueWaitP50Nanos();
+    long getQueueWaitP99Nanos();
+    long getQueueWaitP999Nanos();
+    long getQueueWaitMaxNanos();
+
+    long getExecutionP50Nanos();
+    long getExecutionP99Nanos();
+    long getExecutionP999Nanos();
+    long getExecutionMaxNanos();
+
+    long getScheduleLatenessP50Nanos();
+    long getScheduleLatenessP99Nanos();
+    long getScheduleLatenessP999Nanos();
+    long getScheduleLatenessMaxNanos();
+}
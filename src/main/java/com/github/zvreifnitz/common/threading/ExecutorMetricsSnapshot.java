@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+public final class ExecutorMetricsSnapshot {
+
+    private final String name;
+    private final long timestampNanos;
+    private final long submittedTasks;
+    private final long completedTasks;
+    private final long failedTasks;
+    private final long rejectedTasks;
+    private final long activeTasks;
+    private final long queuedTasks;
+    private final LatencySnapshot queueWait;
+    private final LatencySnapshot execution;
+    private final LatencySnapshot scheduleLateness;
+
+    ExecutorMetricsSnapshot(
+            final String name, final long timestampNanos,
+            final long submittedTasks, final long completedTasks, final long failedTasks, final long rejectedTasks,
+            final long activeTasks, final long queuedTasks,
+            final LatencySnapshot queueWait, final LatencySnapshot execution, final LatencySnapshot scheduleLateness) {
+        this.name = name;
+        this.timestampNanos = timestampNanos;
+        this.submittedTasks = submittedTasks;
+        this.completedTasks = completedTasks;
+        this.failedTasks = failedTasks;
+        this.rejectedTasks = rejectedTasks;
+        this.activeTasks = activeTasks;
+        this.queuedTasks = queuedTasks;
+        this.queueWait = queueWait;
+        this.execution = execution;
+        this.scheduleLateness = scheduleLateness;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getTimestampNanos() {
+        return this.timestampNanos;
+    }
+
+    public long getSubmittedTasks() {
+        return this.submittedTasks;
+    }
+
+    public long getCompletedTasks() {
+        return this.completedTasks;
+    }
+
+    public long getFailedTasks() {
+        return this.failedTasks;
+    }
+
+    public long getRejectedTasks() {
+        return this.rejectedTasks;
+    }
+
+    public long getActiveTasks() {
+        return this.activeTasks;
+    }
+
+    public long getQueuedTasks() {
+        return this.queuedTasks;
+    }
+
+    public LatencySnapshot getQueueWait() {
+        return this.queueWait;
+    }
+
+    public LatencySnapshot getExecution() {
+        return this.execution;
+    }
+
+    public LatencySnapshot getScheduleLateness() {
+        return this.scheduleLateness;
+    }
+
+    public double throughputPerSecondSince(final ExecutorMetricsSnapshot previous) {
+        final long elapsed = (this.timestampNanos - previous.timestampNanos);
+        if (elapsed <= 0L) {
+            return 0.0;
+        }
+        return ((this.completedTasks - previous.completedTasks) * 1_000_000_000.0 / elapsed);
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorMetricsSnapshot{name=" + this.name + ", submitted=" + this.submittedTasks
+                + ", completed=" + this.completedTasks + ", failed=" + this.failedTasks
+                + ", rejected=" + this.rejectedTasks + ", active=" + this.activeTasks + ", queued=" + this.queuedTasks
+                + ", queueWait=" + this.queueWait + ", execution=" + this.execution
+                + ", scheduleLateness=" + this.scheduleLateness + "}";
+    }
+}
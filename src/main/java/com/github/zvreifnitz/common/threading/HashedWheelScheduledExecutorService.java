@@ -0,0 +1,419 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public final class HashedWheelScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final ExecutorService dispatcher;
+    private final Queue<WheelTask<?>> pendingTasks;
+    private final Queue<WheelTask<?>> cancelledTasks;
+    private final AtomicLong scheduledTasks;
+    private final CountDownLatch exited;
+    private final CountDownLatch terminated;
+    private final Thread timer;
+
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+    private volatile List<Runnable> unprocessedTasks;
+
+    HashedWheelScheduledExecutorService(
+            final long tickDuration, final TimeUnit unit, final int ticksPerWheel,
+            final ExecutorService dispatcher, final ThreadFactory threadFactory) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(tickDuration > 0L, "Tick duration must be positive");
+        Preconditions.checkArgument((ticksPerWheel > 0) && (Integer.bitCount(ticksPerWheel) == 1), "Ticks per wheel must be a power of two");
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = (ticksPerWheel - 1);
+        this.wheel = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.dispatcher = Preconditions.checkNotNull(dispatcher, "dispatcher");
+        this.pendingTasks = new ConcurrentLinkedQueue<>();
+        this.cancelledTasks = new ConcurrentLinkedQueue<>();
+        this.scheduledTasks = new AtomicLong();
+        this.exited = new CountDownLatch(1);
+        this.terminated = new CountDownLatch(1);
+        this.timer = Preconditions.checkNotNull(threadFactory, "threadFactory").newThread(this::runTimer);
+        this.timer.start();
+    }
+
+    public long getScheduledTasks() {
+        return this.scheduledTasks.get();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        Preconditions.checkNotNull(command, "command");
+        Preconditions.checkNotNull(unit, "unit");
+        return this.enqueue(new WheelTask<Void>(command, null, deadline(delay, unit), 0L));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        Preconditions.checkNotNull(callable, "callable");
+        Preconditions.checkNotNull(unit, "unit");
+        return this.enqueue(new WheelTask<>(callable, deadline(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        Preconditions.checkNotNull(command, "command");
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(period > 0L, "Period must be positive");
+        return this.enqueue(new WheelTask<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+        Preconditions.checkNotNull(command, "command");
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(delay > 0L, "Delay must be positive");
+        return this.enqueue(new WheelTask<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Preconditions.checkNotNull(command, "command");
+        if (this.shutdown) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        this.dispatcher.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        LockSupport.unpark(this.timer);
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown = true;
+        this.stopped = true;
+        LockSupport.unpark(this.timer);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                this.exited.await();
+                break;
+            } catch (final InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        final List<Runnable> result = this.unprocessedTasks;
+        return ((result == null) ? new ArrayList<>() : result);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return (this.terminated.getCount() == 0L);
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.terminated.await(timeout, unit);
+    }
+
+    private <V> WheelTask<V> enqueue(final WheelTask<V> task) {
+        if (this.shutdown) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        this.scheduledTasks.incrementAndGet();
+        this.pendingTasks.add(task);
+        return task;
+    }
+
+    private void runTimer() {
+        final long startTime = System.nanoTime();
+        long tick = 0L;
+        boolean periodicCancelled = false;
+        while (!this.stopped) {
+            final long tickDeadline = (startTime + ((tick + 1L) * this.tickNanos));
+            if (!this.sleepUntil(tickDeadline)) {
+                break;
+            }
+            if (this.shutdown && !periodicCancelled) {
+                this.cancelPeriodic();
+                periodicCancelled = true;
+            }
+            this.processCancelled();
+            this.transferPending(startTime, tick);
+            this.wheel[(int)(tick & this.mask)].expire(tickDeadline);
+            tick++;
+            if (this.shutdown && (this.scheduledTasks.get() == 0L)) {
+                break;
+            }
+        }
+        final List<Runnable> unprocessed = new ArrayList<>();
+        if (this.stopped) {
+            for (int i = 0; i < this.wheel.length; i++) {
+                this.wheel[i].drainTo(unprocessed);
+            }
+            WheelTask<?> task;
+            while ((task = this.pendingTasks.poll()) != null) {
+                if (!task.isCancelled()) {
+                    unprocessed.add(task);
+                }
+            }
+            unprocessed.addAll(this.dispatcher.shutdownNow());
+        } else {
+            this.dispatcher.shutdown();
+        }
+        this.unprocessedTasks = unprocessed;
+        this.exited.countDown();
+        while (!this.dispatcher.isTerminated()) {
+            try {
+                this.dispatcher.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException ignored) {
+            }
+        }
+        this.terminated.countDown();
+    }
+
+    private boolean sleepUntil(final long deadline) {
+        for (;;) {
+            if (this.stopped) {
+                return false;
+            }
+            final long remaining = (deadline - System.nanoTime());
+            if (remaining <= 0L) {
+                return true;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void cancelPeriodic() {
+        for (int i = 0; i < this.wheel.length; i++) {
+            this.wheel[i].cancelPeriodic();
+        }
+        for (final WheelTask<?> task : this.pendingTasks) {
+            if (task.isPeriodic()) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private void processCancelled() {
+        WheelTask<?> task;
+        while ((task = this.cancelledTasks.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+                this.scheduledTasks.decrementAndGet();
+            }
+        }
+    }
+
+    private void transferPending(final long startTime, final long tick) {
+        for (int i = 0; i < 100_000; i++) {
+            final WheelTask<?> task = this.pendingTasks.poll();
+            if (task == null) {
+                return;
+            }
+            if (task.isCancelled()) {
+                this.scheduledTasks.decrementAndGet();
+                continue;
+            }
+            final long calculated = ((task.deadline - startTime) / this.tickNanos);
+            task.remainingRounds = ((calculated - tick) / this.wheel.length);
+            final long ticks = Math.max(calculated, tick);
+            this.wheel[(int)(ticks & this.mask)].add(task);
+        }
+    }
+
+    private void dispatch(final WheelTask<?> task) {
+        this.scheduledTasks.decrementAndGet();
+        try {
+            this.dispatcher.execute(task);
+        } catch (final RejectedExecutionException exc) {
+            task.reject(exc);
+        }
+    }
+
+    private static long deadline(final long delay, final TimeUnit unit) {
+        return (System.nanoTime() + unit.toNanos(Math.max(0L, delay)));
+    }
+
+    private final class Bucket {
+        private WheelTask<?> head;
+        private WheelTask<?> tail;
+
+        private void add(final WheelTask<?> task) {
+            task.bucket = this;
+            if (this.head == null) {
+                this.head = task;
+                this.tail = task;
+            } else {
+                this.tail.next = task;
+                task.prev = this.tail;
+                this.tail = task;
+            }
+        }
+
+        private void expire(final long tickDeadline) {
+            WheelTask<?> task = this.head;
+            while (task != null) {
+                final WheelTask<?> next = task.next;
+                if (task.remainingRounds <= 0L) {
+                    this.remove(task);
+                    if (task.deadline <= tickDeadline) {
+                        HashedWheelScheduledExecutorService.this.dispatch(task);
+                    } else {
+                        HashedWheelScheduledExecutorService.this.pendingTasks.add(task);
+                    }
+                } else {
+                    task.remainingRounds--;
+                }
+                task = next;
+            }
+        }
+
+        private void cancelPeriodic() {
+            for (WheelTask<?> task = this.head; task != null; task = task.next) {
+                if (task.isPeriodic()) {
+                    task.cancel(false);
+                }
+            }
+        }
+
+        private void drainTo(final List<Runnable> tasks) {
+            WheelTask<?> task = this.head;
+            while (task != null) {
+                final WheelTask<?> next = task.next;
+                this.remove(task);
+                if (!task.isCancelled()) {
+                    tasks.add(task);
+                }
+                task = next;
+            }
+        }
+
+        private void remove(final WheelTask<?> task) {
+            final WheelTask<?> next = task.next;
+            if (task.prev != null) {
+                task.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = task.prev;
+            }
+            if (task == this.head) {
+                this.head = next;
+            }
+            if (task == this.tail) {
+                this.tail = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+        }
+    }
+
+    private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        private final long period;
+
+        private volatile long deadline;
+
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTask<?> prev;
+        private WheelTask<?> next;
+
+        private WheelTask(final Runnable runnable, final V result, final long deadline, final long period) {
+            super(runnable, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        private WheelTask(final Callable<V> callable, final long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0L;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return (this.period != 0L);
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            final long diff = (this.getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS));
+            return ((diff < 0L) ? -1 : ((diff > 0L) ? 1 : 0));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                HashedWheelScheduledExecutorService.this.cancelledTasks.add(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            if (!this.isPeriodic()) {
+                super.run();
+                return;
+            }
+            if (!super.runAndReset()) {
+                return;
+            }
+            if (HashedWheelScheduledExecutorService.this.shutdown) {
+                this.cancel(false);
+                return;
+            }
+            this.deadline = ((this.period > 0L) ? (this.deadline + this.period) : (System.nanoTime() - this.period));
+            HashedWheelScheduledExecutorService.this.scheduledTasks.incrementAndGet();
+            HashedWheelScheduledExecutorService.this.pendingTasks.add(this);
+        }
+
+        private void reject(final Throwable exc) {
+            this.setException(exc);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+
+class InstrumentedExecutorService implements ExecutorService {
+
+    private final ExecutorService delegate;
+    final ExecutorMetrics metrics;
+
+    InstrumentedExecutorService(final ExecutorService delegate, final ExecutorMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void shutdown() {
+        this.delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pending = this.delegate.shutdownNow();
+        final List<Runnable> result = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            result.add(ExecutorMetrics.unwrap(pending.get(i)));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public <T> Future<T> submit(final Callable<T> task) {
+        try {
+            return this.delegate.submit(this.metrics.wrap(task));
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    @Override
+    public <T> Future<T> submit(final Runnable task, final T result) {
+        try {
+            return this.delegate.submit(this.metrics.wrap(task), result);
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    @Override
+    public Future<?> submit(final Runnable task) {
+        try {
+            return this.delegate.submit(this.metrics.wrap(task));
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        return this.delegate.invokeAll(this.wrapAll(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit) throws InterruptedException {
+        return this.delegate.invokeAll(this.wrapAll(tasks), timeout, unit);
+    }
+
+    @Override
+    public <T> T invokeAny(final Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        return this.delegate.invokeAny(this.wrapAll(tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return this.delegate.invokeAny(this.wrapAll(tasks), timeout, unit);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        try {
+            this.delegate.execute(this.metrics.wrap(command));
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    private <T> List<Callable<T>> wrapAll(final Collection<? extends Callable<T>> tasks) {
+        final List<Callable<T>> result = new ArrayList<>(tasks.size());
+        for (final Callable<T> task : tasks) {
+            result.add(this.metrics.wrap(task));
+        }
+        return result;
+    }
+}
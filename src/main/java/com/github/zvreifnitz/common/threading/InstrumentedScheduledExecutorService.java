@@ -0,0 +1,72 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import java.util.concurrent.*;
+
+final class InstrumentedScheduledExecutorService extends InstrumentedExecutorService implements ScheduledExecutorService {
+
+    private final ScheduledExecutorService delegate;
+
+    InstrumentedScheduledExecutorService(final ScheduledExecutorService delegate, final ExecutorMetrics metrics) {
+        super(delegate, metrics);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        try {
+            return this.delegate.schedule(this.metrics.wrapScheduled(command, delay, unit), delay, unit);
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        try {
+            return this.delegate.schedule(this.metrics.wrapScheduled(callable, delay, unit), delay, unit);
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        try {
+            return this.delegate.scheduleAtFixedRate(
+                    this.metrics.wrapFixedRate(command, initialDelay, period, unit), initialDelay, period, unit);
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+        try {
+            return this.delegate.scheduleWithFixedDelay(
+                    this.metrics.wrapFixedDelay(command, initialDelay, delay, unit), initialDelay, delay, unit);
+        } catch (final RejectedExecutionException exc) {
+            this.metrics.recordRejected();
+            throw exc;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = (1 << SUB_BUCKET_BITS);
+    private static final int BUCKETS = ((64 - SUB_BUCKET_BITS) * SUB_BUCKETS);
+
+    private final AtomicLongArray counts;
+    private final LongAdder total;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.total = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    public void record(final long value) {
+        final long v = ((value < 0L) ? 0L : value);
+        this.counts.incrementAndGet(indexOf(v));
+        this.total.add(v);
+        long current = this.max.get();
+        while ((v > current) && !this.max.compareAndSet(current, v)) {
+            current = this.max.get();
+        }
+    }
+
+    public LatencySnapshot snapshot() {
+        final long[] copy = new long[BUCKETS];
+        long count = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = this.counts.get(i);
+            count += copy[i];
+        }
+        final long max = this.max.get();
+        final double mean = ((count == 0L) ? 0.0 : ((double)this.total.sum() / count));
+        return new LatencySnapshot(count, mean, max,
+                valueAt(copy, count, 0.5, max), valueAt(copy, count, 0.99, max), valueAt(copy, count, 0.999, max));
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int)value;
+        }
+        final int exponent = (63 - Long.numberOfLeadingZeros(value));
+        final int shift = (exponent - SUB_BUCKET_BITS);
+        return (((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + (int)((value >>> shift) & (SUB_BUCKETS - 1)));
+    }
+
+    static long highestValueAt(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = ((index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1);
+        final int shift = (exponent - SUB_BUCKET_BITS);
+        final long lowest = ((long)(SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift);
+        return (lowest + (1L << shift) - 1L);
+    }
+
+    private static long valueAt(final long[] counts, final long count, final double quantile, final long max) {
+        if (count == 0L) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long)Math.ceil(quantile * count));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+}
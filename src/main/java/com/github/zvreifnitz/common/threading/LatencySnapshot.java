@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+public final class LatencySnapshot {
+
+    private final long count;
+    private final double mean;
+    private final long max;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+
+    LatencySnapshot(final long count, final double mean, final long max, final long p50, final long p99, final long p999) {
+        this.count = count;
+        this.mean = mean;
+        this.max = max;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    public long getP50() {
+        return this.p50;
+    }
+
+    public long getP99() {
+        return this.p99;
+    }
+
+    public long getP999() {
+        return this.p999;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{count=" + this.count + ", mean=" + (long)this.mean + ", p50=" + this.p50
+                + ", p99=" + this.p99 + ", p999=" + this.p999 + ", max=" + this.max + "}";
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public final class OpenableBatcher<T> extends AbstractOpenable {
+
+    private final Executor flushExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<? super List<T>> sink;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final int maxPending;
+    private final ConcurrentLinkedQueue<T> items;
+    private final AtomicInteger queued;
+    private final Semaphore capacity;
+    private final AtomicBoolean flushScheduled;
+    private final AtomicBoolean forceFlush;
+    private final AtomicBoolean timerArmed;
+    private final ReentrantLock flushLock;
+    private final LongAdder flushedBatches;
+    private final LongAdder flushedItems;
+    private final LongAdder failedBatches;
+
+    private volatile ScheduledFuture<?> timer;
+    private volatile boolean closing;
+
+    OpenableBatcher(
+            final Executor flushExecutor, final ScheduledExecutorService scheduler, final Consumer<? super List<T>> sink,
+            final int maxBatchSize, final long maxDelay, final TimeUnit unit, final int maxPending) {
+        super(asOpenable(flushExecutor), asOpenable(scheduler));
+        Preconditions.checkArgument(maxBatchSize > 0, "Max batch size must be positive");
+        Preconditions.checkArgument(maxDelay > 0L, "Max delay must be positive");
+        Preconditions.checkArgument(maxPending >= maxBatchSize, "Max pending must be at least max batch size %s", maxBatchSize);
+        Preconditions.checkNotNull(unit, "unit");
+        this.flushExecutor = Preconditions.checkNotNull(flushExecutor, "flushExecutor");
+        this.scheduler = Preconditions.checkNotNull(scheduler, "scheduler");
+        this.sink = Preconditions.checkNotNull(sink, "sink");
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.maxPending = maxPending;
+        this.items = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.capacity = new Semaphore(maxPending);
+        this.flushScheduled = new AtomicBoolean();
+        this.forceFlush = new AtomicBoolean();
+        this.timerArmed = new AtomicBoolean();
+        this.flushLock = new ReentrantLock();
+        this.flushedBatches = new LongAdder();
+        this.flushedItems = new LongAdder();
+        this.failedBatches = new LongAdder();
+    }
+
+    public boolean offer(final T item) {
+        Preconditions.checkNotNull(item, "item");
+        this.checkOpen();
+        if (!this.capacity.tryAcquire()) {
+            return false;
+        }
+        this.enqueue(item);
+        return true;
+    }
+
+    public boolean offer(final T item, final long timeout, final TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(item, "item");
+        Preconditions.checkNotNull(unit, "unit");
+        this.checkOpen();
+        if (!this.capacity.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        this.enqueue(item);
+        return true;
+    }
+
+    public void put(final T item) throws InterruptedException {
+        Preconditions.checkNotNull(item, "item");
+        this.checkOpen();
+        this.capacity.acquire();
+        this.enqueue(item);
+    }
+
+    public void flush() {
+        this.checkOpen();
+        if (this.queued.get() > 0) {
+            this.requestFlush(true);
+        }
+    }
+
+    public int getPending() {
+        return this.queued.get();
+    }
+
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    public int getMaxPending() {
+        return this.maxPending;
+    }
+
+    public long getFlushedBatches() {
+        return this.flushedBatches.sum();
+    }
+
+    public long getFlushedItems() {
+        return this.flushedItems.sum();
+    }
+
+    public long getFailedBatches() {
+        return this.failedBatches.sum();
+    }
+
+    @Override
+    protected void performOpen() {
+        this.closing = false;
+    }
+
+    @Override
+    protected void performClose() {
+        this.closing = true;
+        final ScheduledFuture<?> task = this.timer;
+        this.timer = null;
+        if (task != null) {
+            task.cancel(false);
+        }
+        this.timerArmed.set(false);
+        this.drainAll();
+    }
+
+    private void enqueue(final T item) {
+        this.items.offer(item);
+        final int pending = this.queued.incrementAndGet();
+        if (this.closing) {
+            this.drainAll();
+            return;
+        }
+        if (pending >= this.maxBatchSize) {
+            this.requestFlush(false);
+        } else if (!this.timerArmed.get() && this.timerArmed.compareAndSet(false, true)) {
+            this.armTimer();
+        }
+    }
+
+    private void armTimer() {
+        try {
+            this.timer = this.scheduler.schedule(this::onTimer, this.maxDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException exc) {
+            this.timerArmed.set(false);
+            throw exc;
+        }
+    }
+
+    private void onTimer() {
+        this.timerArmed.set(false);
+        if (!this.closing && (this.queued.get() > 0)) {
+            this.requestFlush(true);
+        }
+    }
+
+    private void requestFlush(final boolean force) {
+        if (force) {
+            this.forceFlush.set(true);
+        }
+        if (!this.flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.flushExecutor.execute(this::flushScheduled);
+        } catch (final RejectedExecutionException exc) {
+            this.flushScheduled.set(false);
+            throw exc;
+        }
+    }
+
+    private void flushScheduled() {
+        for (;;) {
+            this.flushLock.lock();
+            try {
+                while (this.queued.get() >= this.maxBatchSize) {
+                    this.emit();
+                }
+                if (this.forceFlush.getAndSet(false)) {
+                    int remaining = this.queued.get();
+                    while (remaining > 0) {
+                        final int emitted = this.emit();
+                        if (emitted == 0) {
+                            break;
+                        }
+                        remaining -= emitted;
+                    }
+                }
+            } finally {
+                this.flushLock.unlock();
+                this.flushScheduled.set(false);
+            }
+            final boolean pending = ((this.queued.get() >= this.maxBatchSize)
+                    || (this.forceFlush.get() && (this.queued.get() > 0)));
+            if (!pending || !this.flushScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void drainAll() {
+        this.flushLock.lock();
+        try {
+            while (this.queued.get() > 0) {
+                if (this.emit() == 0) {
+                    break;
+                }
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private int emit() {
+        final int size = Math.min(this.maxBatchSize, this.queued.get());
+        final List<T> batch = new ArrayList<>(size);
+        T item;
+        while ((batch.size() < size) && ((item = this.items.poll()) != null)) {
+            batch.add(item);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        this.queued.addAndGet(-batch.size());
+        try {
+            this.sink.accept(batch);
+            this.flushedBatches.increment();
+            this.flushedItems.add(batch.size());
+        } catch (final RuntimeException exc) {
+            this.failedBatches.increment();
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+        } finally {
+            this.capacity.release(batch.size());
+        }
+        return batch.size();
+    }
+
+    private static Openable asOpenable(final Object instance) {
+        return ((instance instanceof Openable) ? (Openable)instance : null);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class OpenableDeadlineExecutor extends AbstractOpenable implements Executor {
+
+    private static final ThreadLocal<Boolean> RUNNING_LATE = new ThreadLocal<>();
+
+    private final int threads;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long agingStepNanos;
+    private final ExpiredTaskPolicy expiredTaskPolicy;
+    private final ThreadFactory threadFactory;
+    private final Semaphore available;
+    private final AtomicInteger queued;
+    private final AtomicLong sequence;
+    private final LongAdder expiredTasks;
+    private final LongAdder lateTasks;
+
+    private volatile Thread[] workers;
+    private volatile boolean stopped;
+
+    OpenableDeadlineExecutor(
+            final int threads, final int stripes, final long agingStep, final TimeUnit unit,
+            final ExpiredTaskPolicy expiredTaskPolicy, final ThreadFactory threadFactory) {
+        Preconditions.checkArgument(threads > 0, "Threads must be positive");
+        Preconditions.checkArgument((stripes > 0) && (Integer.bitCount(stripes) == 1), "Stripes must be a power of two");
+        Preconditions.checkArgument(agingStep > 0L, "Aging step must be positive");
+        this.threads = threads;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = (stripes - 1);
+        this.agingStepNanos = Preconditions.checkNotNull(unit, "unit").toNanos(agingStep);
+        this.expiredTaskPolicy = Preconditions.checkNotNull(expiredTaskPolicy, "expiredTaskPolicy");
+        this.threadFactory = Preconditions.checkNotNull(threadFactory, "threadFactory");
+        this.available = new Semaphore(0);
+        this.queued = new AtomicInteger();
+        this.sequence = new AtomicLong();
+        this.expiredTasks = new LongAdder();
+        this.lateTasks = new LongAdder();
+        this.stopped = true;
+    }
+
+    public static boolean isRunningLate() {
+        return (RUNNING_LATE.get() != null);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        this.execute(command, 0);
+    }
+
+    public void execute(final Runnable command, final int priority) {
+        Preconditions.checkNotNull(command, "command");
+        Preconditions.checkArgument(priority >= 0, "Priority must not be negative");
+        this.checkOpen();
+        final long now = System.nanoTime();
+        this.enqueue(new Task(command, now + (priority * this.agingStepNanos), 0L, false, this.sequence.getAndIncrement()));
+    }
+
+    public void executeBefore(final Runnable command, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(command, "command");
+        Preconditions.checkNotNull(unit, "unit");
+        this.checkOpen();
+        final long deadline = (System.nanoTime() + unit.toNanos(timeout));
+        this.enqueue(new Task(command, deadline, deadline, true, this.sequence.getAndIncrement()));
+    }
+
+    public <T> Future<T> submit(final Callable<T> task, final int priority) {
+        final FutureTask<T> future = new FutureTask<>(Preconditions.checkNotNull(task, "task"));
+        this.execute(future, priority);
+        return future;
+    }
+
+    public <T> Future<T> submitBefore(final Callable<T> task, final long timeout, final TimeUnit unit) {
+        final FutureTask<T> future = new FutureTask<>(Preconditions.checkNotNull(task, "task"));
+        this.executeBefore(future, timeout, unit);
+        return future;
+    }
+
+    public int getQueuedTasks() {
+        return this.queued.get();
+    }
+
+    public long getExpiredTasks() {
+        return this.expiredTasks.sum();
+    }
+
+    public long getLateTasks() {
+        return this.lateTasks.sum();
+    }
+
+    @Override
+    protected void performOpen() {
+        this.available.drainPermits();
+        this.stopped = false;
+        final Thread[] newWorkers = new Thread[this.threads];
+        for (int i = 0; i < newWorkers.length; i++) {
+            newWorkers[i] = this.threadFactory.newThread(this::work);
+        }
+        this.workers = newWorkers;
+        for (final Thread worker : newWorkers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    protected void performClose() {
+        this.stopped = true;
+        this.available.release(this.threads);
+        final Thread[] currentWorkers = this.workers;
+        if (currentWorkers != null) {
+            final Thread current = Thread.currentThread();
+            for (final Thread worker : currentWorkers) {
+                if (worker != current) {
+                    joinUninterruptibly(worker);
+                }
+            }
+        }
+        this.drainAfterStop();
+    }
+
+    private void enqueue(final Task task) {
+        if (this.stopped) {
+            throw new RejectedExecutionException("Executor is closed");
+        }
+        final Stripe[] allStripes = this.stripes;
+        final int home = ((int)Thread.currentThread().getId() & this.mask);
+        Stripe stripe = null;
+        for (int i = 0; i <= this.mask; i++) {
+            final Stripe candidate = allStripes[(home + i) & this.mask];
+            if (candidate.lock.tryLock()) {
+                stripe = candidate;
+                break;
+            }
+        }
+        if (stripe == null) {
+            stripe = allStripes[home];
+            stripe.lock.lock();
+        }
+        try {
+            stripe.queue.add(task);
+            stripe.head = stripe.queue.peek();
+        } finally {
+            stripe.lock.unlock();
+        }
+        this.queued.incrementAndGet();
+        this.available.release();
+        if (this.stopped) {
+            this.drainAfterStop();
+        }
+    }
+
+    private void work() {
+        for (;;) {
+            this.available.acquireUninterruptibly();
+            Task task;
+            while ((task = this.poll()) == null) {
+                if (this.stopped) {
+                    this.available.release();
+                    return;
+                }
+                Thread.yield();
+            }
+            this.run(task);
+        }
+    }
+
+    private Task poll() {
+        final Stripe[] allStripes = this.stripes;
+        for (;;) {
+            Stripe best = null;
+            Task bestHead = null;
+            for (final Stripe stripe : allStripes) {
+                final Task head = stripe.head;
+                if ((head != null) && ((bestHead == null) || (head.compareTo(bestHead) < 0))) {
+                    best = stripe;
+                    bestHead = head;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            best.lock.lock();
+            try {
+                if (best.head == bestHead) {
+                    best.queue.poll();
+                    best.head = best.queue.peek();
+                    this.queued.decrementAndGet();
+                    return bestHead;
+                }
+            } finally {
+                best.lock.unlock();
+            }
+        }
+    }
+
+    private void run(final Task task) {
+        if (task.hasDeadline && ((System.nanoTime() - task.deadline) > 0L)) {
+            if (this.expiredTaskPolicy == ExpiredTaskPolicy.DROP) {
+                this.expiredTasks.increment();
+                if (task.command instanceof Future) {
+                    ((Future<?>)task.command).cancel(false);
+                }
+                return;
+            }
+            this.lateTasks.increment();
+            RUNNING_LATE.set(Boolean.TRUE);
+            try {
+                runSafely(task.command);
+            } finally {
+                RUNNING_LATE.remove();
+            }
+            return;
+        }
+        runSafely(task.command);
+    }
+
+    private void drainAfterStop() {
+        Task task;
+        while ((task = this.poll()) != null) {
+            this.run(task);
+        }
+    }
+
+    private static void runSafely(final Runnable task) {
+        try {
+            task.run();
+        } catch (final Throwable exc) {
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+        }
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PriorityQueue<Task> queue = new PriorityQueue<>();
+
+        private volatile Task head;
+    }
+
+    private static final class Task implements Comparable<Task> {
+        private final Runnable command;
+        private final long key;
+        private final long deadline;
+        private final boolean hasDeadline;
+        private final long sequence;
+
+        private Task(final Runnable command, final long key, final long deadline, final boolean hasDeadline, final long sequence) {
+            this.command = command;
+            this.key = key;
+            this.deadline = deadline;
+            this.hasDeadline = hasDeadline;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final Task other) {
+            final long diff = (this.key - other.key);
+            if (diff != 0L) {
+                return ((diff < 0L) ? -1 : 1);
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
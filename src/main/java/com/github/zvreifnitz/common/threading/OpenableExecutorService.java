@@ -31,44 +31,123 @@ import java.util.function.Supplier;
 public final class OpenableExecutorService extends AbstractOpenable implements ExecutorService {
 
     private final Supplier<ExecutorService> executorSupplier;
+    private final ExecutorClosePolicy closePolicy;
+    private final ExecutorMetrics metrics;
+    private final AdaptivePoolSizing sizing;
+    private final AdmissionPolicy admission;
     private final EmptyOpenable self;
 
+    private volatile ExecutorService delegate;
     private volatile ExecutorService executor;
+    private volatile ExecutorCloseReport closeReport;
+    private volatile AdaptivePoolResizer resizer;
+    private volatile AdmissionController admissionController;
 
     OpenableExecutorService(final Supplier<ExecutorService> executorSupplier) {
+        this(executorSupplier, ExecutorClosePolicy.awaitTermination());
+    }
+
+    OpenableExecutorService(final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy) {
+        this(executorSupplier, closePolicy, null);
+    }
+
+    OpenableExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final ExecutorMetrics metrics) {
+        this(executorSupplier, closePolicy, metrics, null);
+    }
+
+    OpenableExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final ExecutorMetrics metrics, final AdaptivePoolSizing sizing) {
+        this(executorSupplier, closePolicy, metrics, sizing, null);
+    }
+
+    OpenableExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final ExecutorMetrics metrics, final AdaptivePoolSizing sizing, final AdmissionPolicy admission) {
+        Preconditions.checkArgument((sizing == null) || (metrics != null), "Adaptive sizing requires metrics");
         this.executorSupplier = Preconditions.checkNotNull(executorSupplier, "executorSupplier");
+        this.closePolicy = Preconditions.checkNotNull(closePolicy, "closePolicy");
+        this.metrics = metrics;
+        this.sizing = sizing;
+        this.admission = admission;
         this.self = new EmptyOpenable();
+        this.closeReport = ExecutorCloseReport.NONE;
+    }
+
+    public ExecutorCloseReport getCloseReport() {
+        return this.closeReport;
+    }
+
+    public boolean isInstrumented() {
+        return (this.metrics != null);
+    }
+
+    public ExecutorMetricsSnapshot getMetrics() {
+        Preconditions.checkState(this.metrics != null, "Executor is not instrumented");
+        return this.metrics.snapshot();
+    }
+
+    public boolean isAdmissionControlled() {
+        return (this.admission != null);
+    }
+
+    public AdmissionStats getAdmissionStats() {
+        Preconditions.checkState(this.admission != null, "Executor is not admission controlled");
+        final AdmissionController controller = this.admissionController;
+        return ((controller == null) ? new AdmissionStats(0L, 0L, 0L, false) : controller.stats());
     }
 
     @Override
     protected void performInit() {
         final ExecutorService executorService = Preconditions.checkNotNull(this.executorSupplier.get(), "executor");
         Openables.initAsDependency(executorService, this.self);
-        this.executor = executorService;
+        this.delegate = executorService;
+        final ExecutorService instrumented = ((this.metrics == null)
+                ? executorService : new InstrumentedExecutorService(executorService, this.metrics));
+        if (this.admission == null) {
+            this.executor = instrumented;
+        } else {
+            final AdmissionController controller = this.admission.newController();
+            this.admissionController = controller;
+            this.executor = new AdmissionControlledExecutorService(instrumented, controller, this.metrics);
+        }
     }
 
     @Override
     protected void performOpen() {
-        Openables.openAsDependency(this.executor, this.self);
+        Openables.openAsDependency(this.delegate, this.self);
+        if (this.metrics != null) {
+            this.metrics.bind(this.delegate);
+        }
+        if (this.sizing != null) {
+            Preconditions.checkState(this.delegate instanceof ThreadPoolExecutor, "Adaptive sizing requires a ThreadPoolExecutor");
+            this.resizer = new AdaptivePoolResizer((ThreadPoolExecutor)this.delegate, this.metrics, this.sizing);
+        }
     }
 
     @Override
     protected void performClose() {
-        final ExecutorService executorService = this.executor;
+        final AdaptivePoolResizer poolResizer = this.resizer;
+        this.resizer = null;
+        if (poolResizer != null) {
+            poolResizer.stop();
+        }
+        final ExecutorService executorService = this.delegate;
+        final ExecutorService wrapped = this.executor;
         this.executor = null;
+        this.delegate = null;
         if (executorService == null) {
             return;
         }
+        if (this.metrics != null) {
+            this.metrics.unbind();
+        }
         if (Openables.isOpenable(executorService)) {
             Openables.closeAsDependency(executorService, this.self);
         } else {
-            executorService.shutdown();
-            while (!executorService.isTerminated()) {
-                try {
-                    executorService.awaitTermination(1, TimeUnit.SECONDS);
-                } catch (final Exception ignored) {
-                }
-            }
+            this.closeReport = this.closePolicy.close(wrapped, executorService);
         }
     }
 
@@ -17,10 +17,19 @@
 
 package com.github.zvreifnitz.common.threading;
 
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
 import com.github.zvreifnitz.common.utils.Preconditions;
 
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public final class OpenableExecutors {
@@ -29,7 +38,242 @@ public final class OpenableExecutors {
         return new OpenableExecutorService(Preconditions.checkNotNull(executorSupplier, "executorSupplier"));
     }
 
-    public static ScheduledExecutorService openableScheduledExecutorService(final Supplier<ScheduledExecutorService> executorSupplier) {
+    public static OpenableExecutorService openableExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy) {
+        return new OpenableExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"));
+    }
+
+    public static OpenableExecutorService openableExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final AdmissionPolicy admissionPolicy) {
+        return new OpenableExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"),
+                null, null,
+                Preconditions.checkNotNull(admissionPolicy, "admissionPolicy"));
+    }
+
+    public static OpenableExecutorService instrumentedExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final String name) {
+        return instrumentedExecutorService(executorSupplier, ExecutorClosePolicy.awaitTermination(), name);
+    }
+
+    public static OpenableExecutorService instrumentedExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy, final String name) {
+        return new OpenableExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"),
+                new ExecutorMetrics(name));
+    }
+
+    public static OpenableExecutorService instrumentedExecutorService(
+            final Supplier<ExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final AdmissionPolicy admissionPolicy, final String name) {
+        return new OpenableExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"),
+                new ExecutorMetrics(name), null,
+                Preconditions.checkNotNull(admissionPolicy, "admissionPolicy"));
+    }
+
+    public static OpenableExecutorService adaptiveExecutorService(final String name, final AdaptivePoolSizing sizing) {
+        return adaptiveExecutorService(name, sizing, ExecutorClosePolicy.awaitTermination());
+    }
+
+    public static OpenableExecutorService adaptiveExecutorService(
+            final String name, final AdaptivePoolSizing sizing, final ExecutorClosePolicy closePolicy) {
+        Preconditions.checkNotNull(sizing, "sizing");
+        final int minThreads = sizing.getMinThreads();
+        return new OpenableExecutorService(
+                () -> new ThreadPoolExecutor(minThreads, minThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>()),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"),
+                new ExecutorMetrics(name),
+                sizing);
+    }
+
+    public static OpenableExecutorService openableVirtualThreadExecutor(final String namePrefix) {
+        return openableVirtualThreadExecutor(namePrefix, ExecutorClosePolicy.awaitTermination());
+    }
+
+    public static OpenableExecutorService openableVirtualThreadExecutor(
+            final String namePrefix, final ExecutorClosePolicy closePolicy) {
+        Preconditions.checkNotNull(namePrefix, "namePrefix");
+        Preconditions.checkNotNull(closePolicy, "closePolicy");
+        Preconditions.checkState(VirtualThreads.isSupported(), "Virtual threads are not supported by this JVM");
+        return new OpenableExecutorService(() -> VirtualThreads.newThreadPerTaskExecutor(namePrefix), closePolicy);
+    }
+
+    public static ThreadFactory virtualThreadFactory(final String namePrefix) {
+        return VirtualThreads.newThreadFactory(namePrefix);
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    public static OpenableScheduledExecutorService openableScheduledExecutorService(final Supplier<ScheduledExecutorService> executorSupplier) {
         return new OpenableScheduledExecutorService(Preconditions.checkNotNull(executorSupplier, "executorSupplier"));
     }
+
+    public static OpenableScheduledExecutorService openableScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy) {
+        return new OpenableScheduledExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"));
+    }
+
+    public static OpenableScheduledExecutorService coalescingScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final PeriodicCoalescing coalescing) {
+        return coalescingScheduledExecutorService(executorSupplier, ExecutorClosePolicy.awaitTermination(), coalescing);
+    }
+
+    public static OpenableScheduledExecutorService coalescingScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final PeriodicCoalescing coalescing) {
+        return new OpenableScheduledExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"),
+                null,
+                Preconditions.checkNotNull(coalescing, "coalescing"));
+    }
+
+    public static OpenableScheduledExecutorService instrumentedScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final String name) {
+        return instrumentedScheduledExecutorService(executorSupplier, ExecutorClosePolicy.awaitTermination(), name);
+    }
+
+    public static OpenableScheduledExecutorService instrumentedScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final String name) {
+        return new OpenableScheduledExecutorService(
+                Preconditions.checkNotNull(executorSupplier, "executorSupplier"),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"),
+                new ExecutorMetrics(name));
+    }
+
+    public static TaskScope taskScope(final AbstractOpenable owner, final Executor executor) {
+        return new TaskScope(
+                Preconditions.checkNotNull(owner, "owner"),
+                Preconditions.checkNotNull(executor, "executor"));
+    }
+
+    public static OpenableKeyedExecutor openableKeyedExecutor(final Executor executor) {
+        return openableKeyedExecutor(executor, 64, 30L, TimeUnit.SECONDS);
+    }
+
+    public static OpenableKeyedExecutor openableKeyedExecutor(
+            final Executor executor, final int maxBatch, final long drainTimeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(executor, "executor");
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(maxBatch > 0, "Max batch must be positive");
+        Preconditions.checkArgument(drainTimeout >= 0L, "Drain timeout must not be negative");
+        return new OpenableKeyedExecutor(executor, maxBatch, unit.toNanos(drainTimeout));
+    }
+
+    public static OpenableRingBufferExecutor openableRingBufferExecutor(final int capacity, final WaitStrategy waitStrategy) {
+        return openableRingBufferExecutor(capacity, 256, waitStrategy, Executors.defaultThreadFactory());
+    }
+
+    public static OpenableRingBufferExecutor openableRingBufferExecutor(
+            final int capacity, final int maxBatch, final WaitStrategy waitStrategy, final ThreadFactory threadFactory) {
+        return new OpenableRingBufferExecutor(
+                capacity, maxBatch,
+                Preconditions.checkNotNull(waitStrategy, "waitStrategy"),
+                Preconditions.checkNotNull(threadFactory, "threadFactory"));
+    }
+
+    public static OpenableRateLimitedExecutor openableRateLimitedExecutor(
+            final Executor delegate, final RateLimiter limiter, final ScheduledExecutorService scheduler) {
+        return openableRateLimitedExecutor(delegate, limiter, scheduler, true, DeferredTaskPolicy.FLUSH);
+    }
+
+    public static OpenableRateLimitedExecutor openableRateLimitedExecutor(
+            final Executor delegate, final RateLimiter limiter, final ScheduledExecutorService scheduler,
+            final boolean fair, final DeferredTaskPolicy closePolicy) {
+        return new OpenableRateLimitedExecutor(
+                Preconditions.checkNotNull(delegate, "delegate"),
+                Preconditions.checkNotNull(limiter, "limiter"),
+                Preconditions.checkNotNull(scheduler, "scheduler"),
+                fair,
+                Preconditions.checkNotNull(closePolicy, "closePolicy"));
+    }
+
+    public static <T> OpenableRecycler<T> openableRecycler(
+            final OpenableExecutorService executor, final Supplier<? extends T> factory, final int maxPerThread) {
+        return openableRecycler(executor, factory, null, maxPerThread);
+    }
+
+    public static <T> OpenableRecycler<T> openableRecycler(
+            final OpenableExecutorService executor, final Supplier<? extends T> factory,
+            final Consumer<? super T> reset, final int maxPerThread) {
+        return new OpenableRecycler<>(
+                Preconditions.checkNotNull(executor, "executor"),
+                Preconditions.checkNotNull(factory, "factory"),
+                reset, maxPerThread);
+    }
+
+    public static <T> OpenableBatcher<T> openableBatcher(
+            final Executor executor, final ScheduledExecutorService scheduler,
+            final Consumer<? super List<T>> sink, final int maxBatchSize, final long maxDelay, final TimeUnit unit) {
+        return openableBatcher(executor, scheduler, sink, maxBatchSize, maxDelay, unit, maxBatchSize * 16);
+    }
+
+    public static <T> OpenableBatcher<T> openableBatcher(
+            final Executor executor, final ScheduledExecutorService scheduler,
+            final Consumer<? super List<T>> sink, final int maxBatchSize, final long maxDelay,
+            final TimeUnit unit, final int maxPending) {
+        return new OpenableBatcher<>(
+                Preconditions.checkNotNull(executor, "executor"),
+                Preconditions.checkNotNull(scheduler, "scheduler"),
+                Preconditions.checkNotNull(sink, "sink"),
+                maxBatchSize, maxDelay, Preconditions.checkNotNull(unit, "unit"), maxPending);
+    }
+
+    public static OpenableShardedExecutor openableShardedExecutor(final int shards) {
+        return openableShardedExecutor(shards, Executors.defaultThreadFactory());
+    }
+
+    public static OpenableShardedExecutor openableShardedExecutor(final int shards, final ThreadFactory threadFactory) {
+        return new OpenableShardedExecutor(shards, Preconditions.checkNotNull(threadFactory, "threadFactory"));
+    }
+
+    public static OpenableDeadlineExecutor openableDeadlineExecutor(
+            final int threads, final long agingStep, final TimeUnit unit, final ExpiredTaskPolicy expiredTaskPolicy) {
+        final int stripes = Integer.highestOneBit(Math.max(2, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        return openableDeadlineExecutor(threads, stripes, agingStep, unit, expiredTaskPolicy, Executors.defaultThreadFactory());
+    }
+
+    public static OpenableDeadlineExecutor openableDeadlineExecutor(
+            final int threads, final int stripes, final long agingStep, final TimeUnit unit,
+            final ExpiredTaskPolicy expiredTaskPolicy, final ThreadFactory threadFactory) {
+        return new OpenableDeadlineExecutor(
+                threads, stripes, agingStep,
+                Preconditions.checkNotNull(unit, "unit"),
+                Preconditions.checkNotNull(expiredTaskPolicy, "expiredTaskPolicy"),
+                Preconditions.checkNotNull(threadFactory, "threadFactory"));
+    }
+
+    public static OpenableScheduledExecutorService openableHashedWheelScheduledExecutorService(
+            final long tickDuration, final TimeUnit unit, final int ticksPerWheel,
+            final Supplier<ExecutorService> dispatcherSupplier) {
+        return openableHashedWheelScheduledExecutorService(
+                tickDuration, unit, ticksPerWheel, dispatcherSupplier, ExecutorClosePolicy.awaitTermination());
+    }
+
+    public static OpenableScheduledExecutorService openableHashedWheelScheduledExecutorService(
+            final long tickDuration, final TimeUnit unit, final int ticksPerWheel,
+            final Supplier<ExecutorService> dispatcherSupplier, final ExecutorClosePolicy closePolicy) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkNotNull(dispatcherSupplier, "dispatcherSupplier");
+        Preconditions.checkArgument(tickDuration > 0L, "Tick duration must be positive");
+        Preconditions.checkArgument((ticksPerWheel > 0) && (Integer.bitCount(ticksPerWheel) == 1), "Ticks per wheel must be a power of two");
+        return new OpenableScheduledExecutorService(
+                () -> new HashedWheelScheduledExecutorService(
+                        tickDuration, unit, ticksPerWheel,
+                        Preconditions.checkNotNull(dispatcherSupplier.get(), "dispatcher"),
+                        runnable -> new Thread(runnable, "hashed-wheel-timer")),
+                Preconditions.checkNotNull(closePolicy, "closePolicy"));
+    }
 }
@@ -0,0 +1,211 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class OpenableKeyedExecutor extends AbstractOpenable {
+
+    private static final int RETIRED = -1;
+
+    private final Executor executor;
+    private final int maxBatch;
+    private final long drainNanos;
+    private final ConcurrentMap<Object, SerialQueue> queues;
+    private final AtomicLong pendingTasks;
+    private final LongAdder droppedTasks;
+    private final Object drainLock;
+
+    private volatile boolean draining;
+
+    OpenableKeyedExecutor(final Executor executor, final int maxBatch, final long drainNanos) {
+        super(toDependency(executor));
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.maxBatch = maxBatch;
+        this.drainNanos = drainNanos;
+        this.queues = new ConcurrentHashMap<>();
+        this.pendingTasks = new AtomicLong();
+        this.droppedTasks = new LongAdder();
+        this.drainLock = new Object();
+    }
+
+    public void execute(final Object key, final Runnable task) {
+        Preconditions.checkNotNull(key, "key");
+        Preconditions.checkNotNull(task, "task");
+        this.checkOpen();
+        for (;;) {
+            final SerialQueue queue = this.queues.computeIfAbsent(key, SerialQueue::new);
+            if (queue.offer(task)) {
+                return;
+            }
+        }
+    }
+
+    public Executor executorFor(final Object key) {
+        Preconditions.checkNotNull(key, "key");
+        return task -> this.execute(key, task);
+    }
+
+    public int getActiveKeys() {
+        return this.queues.size();
+    }
+
+    public long getPendingTasks() {
+        return this.pendingTasks.get();
+    }
+
+    public long getDroppedTasks() {
+        return this.droppedTasks.sum();
+    }
+
+    @Override
+    protected void performOpen() {
+        this.draining = false;
+    }
+
+    @Override
+    protected void performClose() {
+        this.draining = true;
+        final long deadline = (System.nanoTime() + this.drainNanos);
+        boolean interrupted = false;
+        synchronized (this.drainLock) {
+            while (this.pendingTasks.get() > 0L) {
+                final long remaining = (deadline - System.nanoTime());
+                if (remaining <= 0L) {
+                    break;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this.drainLock, remaining);
+                } catch (final InterruptedException exc) {
+                    interrupted = true;
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void taskDone() {
+        if ((this.pendingTasks.decrementAndGet() == 0L) && this.draining) {
+            synchronized (this.drainLock) {
+                this.drainLock.notifyAll();
+            }
+        }
+    }
+
+    private void drop(final Runnable task) {
+        this.droppedTasks.increment();
+        if (task instanceof Future) {
+            ((Future<?>)task).cancel(false);
+        }
+    }
+
+    private static Openable[] toDependency(final Executor executor) {
+        return ((executor instanceof Openable) ? new Openable[]{(Openable)executor} : null);
+    }
+
+    private final class SerialQueue implements Runnable {
+        private final Object key;
+        private final Queue<Runnable> tasks;
+        private final AtomicInteger size;
+
+        private SerialQueue(final Object key) {
+            this.key = key;
+            this.tasks = new ConcurrentLinkedQueue<>();
+            this.size = new AtomicInteger();
+        }
+
+        private boolean offer(final Runnable task) {
+            int current;
+            do {
+                current = this.size.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!this.size.compareAndSet(current, current + 1));
+            OpenableKeyedExecutor.this.pendingTasks.incrementAndGet();
+            this.tasks.add(task);
+            if (current == 0) {
+                this.schedule(task);
+            }
+            return true;
+        }
+
+        private void schedule(final Runnable rejected) {
+            try {
+                OpenableKeyedExecutor.this.executor.execute(this);
+            } catch (final RuntimeException exc) {
+                this.abandon(rejected);
+                throw exc;
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < OpenableKeyedExecutor.this.maxBatch; i++) {
+                final Runnable task = this.next();
+                try {
+                    task.run();
+                } catch (final Throwable exc) {
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+                } finally {
+                    OpenableKeyedExecutor.this.taskDone();
+                }
+                if (this.size.decrementAndGet() == 0) {
+                    if (this.size.compareAndSet(0, RETIRED)) {
+                        OpenableKeyedExecutor.this.queues.remove(this.key, this);
+                    }
+                    return;
+                }
+            }
+            this.schedule(null);
+        }
+
+        private Runnable next() {
+            Runnable task = this.tasks.poll();
+            while (task == null) {
+                Thread.yield();
+                task = this.tasks.poll();
+            }
+            return task;
+        }
+
+        private void abandon(final Runnable rejected) {
+            final int dropped = this.size.getAndSet(RETIRED);
+            OpenableKeyedExecutor.this.queues.remove(this.key, this);
+            for (int i = 0; i < dropped; i++) {
+                final Runnable task = this.next();
+                if (task != rejected) {
+                    OpenableKeyedExecutor.this.drop(task);
+                }
+                OpenableKeyedExecutor.this.taskDone();
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class OpenableRateLimitedExecutor extends AbstractOpenable implements Executor {
+
+    private final Executor delegate;
+    private final RateLimiter limiter;
+    private final ScheduledExecutorService scheduler;
+    private final boolean fair;
+    private final DeferredTaskPolicy closePolicy;
+    private final ConcurrentLinkedQueue<Deferred> deferred;
+    private final AtomicInteger deferredCount;
+    private final AtomicBoolean drainScheduled;
+    private final LongAdder droppedTasks;
+
+    private volatile ScheduledFuture<?> drain;
+    private volatile boolean closing;
+
+    OpenableRateLimitedExecutor(
+            final Executor delegate, final RateLimiter limiter, final ScheduledExecutorService scheduler,
+            final boolean fair, final DeferredTaskPolicy closePolicy) {
+        super(asOpenable(delegate), asOpenable(scheduler));
+        this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+        this.limiter = Preconditions.checkNotNull(limiter, "limiter");
+        this.scheduler = Preconditions.checkNotNull(scheduler, "scheduler");
+        this.fair = fair;
+        this.closePolicy = Preconditions.checkNotNull(closePolicy, "closePolicy");
+        this.deferred = new ConcurrentLinkedQueue<>();
+        this.deferredCount = new AtomicInteger();
+        this.drainScheduled = new AtomicBoolean();
+        this.droppedTasks = new LongAdder();
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        this.execute(command, 1);
+    }
+
+    public void execute(final Runnable command, final int permits) {
+        Preconditions.checkNotNull(command, "command");
+        this.checkOpen();
+        if (this.tryAcquire(permits)) {
+            this.delegate.execute(command);
+            return;
+        }
+        this.deferred.offer(new Deferred(command, permits));
+        this.deferredCount.incrementAndGet();
+        if (this.closing) {
+            this.flushOrDrop();
+            return;
+        }
+        this.scheduleDrain(0L);
+    }
+
+    public boolean tryExecute(final Runnable command) {
+        return this.tryExecute(command, 1);
+    }
+
+    public boolean tryExecute(final Runnable command, final int permits) {
+        Preconditions.checkNotNull(command, "command");
+        this.checkOpen();
+        if (!this.tryAcquire(permits)) {
+            return false;
+        }
+        this.delegate.execute(command);
+        return true;
+    }
+
+    public int getDeferredTasks() {
+        return this.deferredCount.get();
+    }
+
+    public long getDroppedTasks() {
+        return this.droppedTasks.sum();
+    }
+
+    public boolean isFair() {
+        return this.fair;
+    }
+
+    @Override
+    protected void performOpen() {
+        this.closing = false;
+    }
+
+    @Override
+    protected void performClose() {
+        this.closing = true;
+        final ScheduledFuture<?> task = this.drain;
+        this.drain = null;
+        if (task != null) {
+            task.cancel(false);
+        }
+        this.flushOrDrop();
+        this.drainScheduled.set(false);
+    }
+
+    private boolean tryAcquire(final int permits) {
+        if (this.fair && (this.deferredCount.get() > 0)) {
+            Preconditions.checkArgument(
+                    (permits > 0) && (permits <= this.limiter.getMaxPermits()),
+                    "Permits must be between 1 and %s", this.limiter.getMaxPermits());
+            return false;
+        }
+        return this.limiter.tryAcquire(permits);
+    }
+
+    private void scheduleDrain(final long delayNanos) {
+        if (!this.drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.drain = this.scheduler.schedule(this::drainDeferred, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException exc) {
+            this.drainScheduled.set(false);
+            throw exc;
+        }
+    }
+
+    private void drainDeferred() {
+        try {
+            this.drainDeferredTasks();
+        } catch (final RuntimeException exc) {
+            this.drainScheduled.set(false);
+            throw exc;
+        }
+    }
+
+    private void drainDeferredTasks() {
+        for (;;) {
+            Deferred head;
+            while ((head = this.deferred.peek()) != null) {
+                if (this.closing) {
+                    return;
+                }
+                if (!this.limiter.tryAcquire(head.permits)) {
+                    final long wait = Math.max(1L, this.limiter.nanosUntilAvailable(head.permits));
+                    try {
+                        this.drain = this.scheduler.schedule(this::drainDeferred, wait, TimeUnit.NANOSECONDS);
+                    } catch (final RejectedExecutionException exc) {
+                        this.drainScheduled.set(false);
+                    }
+                    return;
+                }
+                final Deferred next = this.deferred.poll();
+                if (next != null) {
+                    this.deferredCount.decrementAndGet();
+                    this.submit(next.command);
+                }
+            }
+            this.drainScheduled.set(false);
+            if (this.deferred.isEmpty() || !this.drainScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void flushOrDrop() {
+        Deferred next;
+        while ((next = this.deferred.poll()) != null) {
+            this.deferredCount.decrementAndGet();
+            if (this.closePolicy == DeferredTaskPolicy.FLUSH) {
+                this.submit(next.command);
+            } else {
+                this.drop(next.command);
+            }
+        }
+    }
+
+    private void submit(final Runnable command) {
+        try {
+            this.delegate.execute(command);
+        } catch (final RejectedExecutionException exc) {
+            this.drop(command);
+        }
+    }
+
+    private void drop(final Runnable command) {
+        this.droppedTasks.increment();
+        if (command instanceof Future) {
+            ((Future<?>)command).cancel(false);
+        }
+    }
+
+    private static Openable asOpenable(final Object instance) {
+        return ((instance instanceof Openable) ? (Openable)instance : null);
+    }
+
+    private static final class Deferred {
+        private final Runnable command;
+        private final int permits;
+
+        private Deferred(final Runnable command, final int permits) {
+            this.command = command;
+            this.permits = permits;
+        }
+    }
+}
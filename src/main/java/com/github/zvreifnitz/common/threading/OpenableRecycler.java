@@ -0,0 +1,241 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.Openable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public final class OpenableRecycler<T> extends AbstractOpenable {
+
+    private static final int FREE = 0;
+    private static final int IN_USE = 1;
+
+    private final Supplier<? extends T> factory;
+    private final Consumer<? super T> reset;
+    private final int maxPerThread;
+    private final AtomicInteger generation;
+    private final LongAdder created;
+    private final LongAdder dropped;
+
+    private volatile ThreadLocal<LocalPool<T>> localPools;
+    private volatile ConcurrentLinkedQueue<LocalPool<T>> registry;
+
+    OpenableRecycler(
+            final Openable executor, final Supplier<? extends T> factory,
+            final Consumer<? super T> reset, final int maxPerThread) {
+        super(executor);
+        Preconditions.checkArgument(maxPerThread > 0, "Max per thread must be positive");
+        this.factory = Preconditions.checkNotNull(factory, "factory");
+        this.reset = reset;
+        this.maxPerThread = maxPerThread;
+        this.generation = new AtomicInteger();
+        this.created = new LongAdder();
+        this.dropped = new LongAdder();
+    }
+
+    public Handle<T> acquire() {
+        this.checkOpen();
+        final ThreadLocal<LocalPool<T>> pools = this.localPools;
+        if (pools == null) {
+            this.throwNotOpen();
+        }
+        LocalPool<T> pool = pools.get();
+        if ((pool == null) || (pool.elements == null)) {
+            pool = this.register(pools);
+        }
+        Handle<T> handle = pool.pop();
+        if (handle == null) {
+            handle = new Handle<>(this, pool, this.factory.get());
+            this.created.increment();
+        }
+        handle.state.lazySet(IN_USE);
+        return handle;
+    }
+
+    public long getCreated() {
+        return this.created.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public int getGeneration() {
+        return this.generation.get();
+    }
+
+    @Override
+    protected void performOpen() {
+        this.generation.incrementAndGet();
+        this.registry = new ConcurrentLinkedQueue<>();
+        this.localPools = new ThreadLocal<>();
+    }
+
+    @Override
+    protected void performClose() {
+        final ConcurrentLinkedQueue<LocalPool<T>> pools = this.registry;
+        this.localPools = null;
+        this.registry = null;
+        this.generation.incrementAndGet();
+        if (pools == null) {
+            return;
+        }
+        LocalPool<T> pool;
+        while ((pool = pools.poll()) != null) {
+            pool.release();
+        }
+    }
+
+    private LocalPool<T> register(final ThreadLocal<LocalPool<T>> pools) {
+        final LocalPool<T> pool = new LocalPool<>(this.generation.get(), this.maxPerThread, Thread.currentThread());
+        final ConcurrentLinkedQueue<LocalPool<T>> currentRegistry = this.registry;
+        if (currentRegistry != null) {
+            currentRegistry.add(pool);
+        }
+        pools.set(pool);
+        return pool;
+    }
+
+    private void recycle(final Handle<T> handle) {
+        Preconditions.checkState(handle.state.compareAndSet(IN_USE, FREE), "Object was already recycled");
+        final LocalPool<T> pool = handle.pool;
+        if ((pool.generation != this.generation.get()) || (pool.elements == null)) {
+            this.dropped.increment();
+            return;
+        }
+        if (this.reset != null) {
+            this.reset.accept(handle.value);
+        }
+        final boolean accepted = ((pool.thread == Thread.currentThread()) ? pool.push(handle) : pool.pushForeign(handle));
+        if (!accepted) {
+            this.dropped.increment();
+        }
+    }
+
+    public static final class Handle<T> {
+        private final OpenableRecycler<T> recycler;
+        private final LocalPool<T> pool;
+        private final T value;
+        private final AtomicInteger state;
+
+        private Handle<T> next;
+
+        private Handle(final OpenableRecycler<T> recycler, final LocalPool<T> pool, final T value) {
+            this.recycler = recycler;
+            this.pool = pool;
+            this.value = value;
+            this.state = new AtomicInteger(IN_USE);
+        }
+
+        public T get() {
+            return this.value;
+        }
+
+        public void recycle() {
+            this.recycler.recycle(this);
+        }
+    }
+
+    private static final class LocalPool<T> {
+        private final int generation;
+        private final int capacity;
+        private final Thread thread;
+        private final AtomicReference<Handle<T>> foreign;
+        private final AtomicInteger foreignSize;
+
+        private volatile Handle<T>[] elements;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private LocalPool(final int generation, final int capacity, final Thread thread) {
+            this.generation = generation;
+            this.capacity = capacity;
+            this.thread = thread;
+            this.foreign = new AtomicReference<>();
+            this.foreignSize = new AtomicInteger();
+            this.elements = (Handle<T>[])new Handle<?>[capacity];
+        }
+
+        private Handle<T> pop() {
+            final Handle<T>[] array = this.elements;
+            if (array == null) {
+                return null;
+            }
+            if ((this.size == 0) && !this.transferForeign(array)) {
+                return null;
+            }
+            final Handle<T> handle = array[--this.size];
+            array[this.size] = null;
+            return handle;
+        }
+
+        private boolean push(final Handle<T> handle) {
+            final Handle<T>[] array = this.elements;
+            if ((array == null) || (this.size == this.capacity)) {
+                return false;
+            }
+            array[this.size++] = handle;
+            return true;
+        }
+
+        private boolean pushForeign(final Handle<T> handle) {
+            if (this.foreignSize.incrementAndGet() > this.capacity) {
+                this.foreignSize.decrementAndGet();
+                return false;
+            }
+            Handle<T> head;
+            do {
+                head = this.foreign.get();
+                handle.next = head;
+            } while (!this.foreign.compareAndSet(head, handle));
+            return true;
+        }
+
+        private boolean transferForeign(final Handle<T>[] array) {
+            Handle<T> handle = this.foreign.getAndSet(null);
+            if (handle == null) {
+                return false;
+            }
+            int moved = 0;
+            while (handle != null) {
+                final Handle<T> next = handle.next;
+                handle.next = null;
+                moved++;
+                if (this.size < this.capacity) {
+                    array[this.size++] = handle;
+                }
+                handle = next;
+            }
+            this.foreignSize.addAndGet(-moved);
+            return (this.size > 0);
+        }
+
+        private void release() {
+            this.elements = null;
+            this.foreign.set(null);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+public final class OpenableRingBufferExecutor extends AbstractOpenable implements Executor {
+
+    private final AtomicReferenceArray<Runnable> slots;
+    private final int mask;
+    private final int maxBatch;
+    private final WaitStrategy waitStrategy;
+    private final ThreadFactory threadFactory;
+    private final AtomicLong producerSequence;
+    private final AtomicLong consumerSequence;
+    private final Object drainLock;
+
+    private volatile Thread consumer;
+    private volatile boolean stopped;
+    private volatile boolean sleeping;
+
+    OpenableRingBufferExecutor(
+            final int capacity, final int maxBatch, final WaitStrategy waitStrategy, final ThreadFactory threadFactory) {
+        Preconditions.checkArgument((capacity > 0) && (Integer.bitCount(capacity) == 1), "Capacity must be a power of two");
+        Preconditions.checkArgument(maxBatch > 0, "Max batch must be positive");
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = (capacity - 1);
+        this.maxBatch = maxBatch;
+        this.waitStrategy = Preconditions.checkNotNull(waitStrategy, "waitStrategy");
+        this.threadFactory = Preconditions.checkNotNull(threadFactory, "threadFactory");
+        this.producerSequence = new AtomicLong();
+        this.consumerSequence = new AtomicLong();
+        this.drainLock = new Object();
+        this.stopped = true;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Preconditions.checkNotNull(command, "command");
+        this.checkOpen();
+        int idleCount = 0;
+        while (!this.tryPublish(command)) {
+            if (this.stopped) {
+                throw new RejectedExecutionException("Executor is closed");
+            }
+            if (Thread.currentThread() == this.consumer) {
+                run(command);
+                return;
+            }
+            idleCount = WaitStrategies.yielding().idle(idleCount);
+        }
+    }
+
+    public boolean tryExecute(final Runnable command) {
+        Preconditions.checkNotNull(command, "command");
+        this.checkOpen();
+        return this.tryPublish(command);
+    }
+
+    public int getCapacity() {
+        return (this.mask + 1);
+    }
+
+    public long getQueuedTasks() {
+        return Math.max(0L, this.producerSequence.get() - this.consumerSequence.get());
+    }
+
+    @Override
+    protected void performOpen() {
+        this.stopped = false;
+        final Thread thread = this.threadFactory.newThread(this::consume);
+        this.consumer = thread;
+        thread.start();
+    }
+
+    @Override
+    protected void performClose() {
+        this.stopped = true;
+        this.drainAfterStop();
+    }
+
+    private boolean tryPublish(final Runnable command) {
+        if (this.stopped) {
+            throw new RejectedExecutionException("Executor is closed");
+        }
+        long sequence;
+        do {
+            sequence = this.producerSequence.get();
+            if ((sequence - this.consumerSequence.get()) > this.mask) {
+                return false;
+            }
+        } while (!this.producerSequence.compareAndSet(sequence, sequence + 1L));
+        this.slots.set((int)sequence & this.mask, command);
+        if (this.stopped) {
+            if (Thread.currentThread() != this.consumer) {
+                this.drainAfterStop();
+            }
+        } else if (this.sleeping) {
+            LockSupport.unpark(this.consumer);
+        }
+        return true;
+    }
+
+    private void consume() {
+        final WaitStrategy waitStrategy = this.waitStrategy;
+        final boolean blocking = waitStrategy.isBlocking();
+        long sequence = this.consumerSequence.get();
+        int idleCount = 0;
+        for (;;) {
+            int count = 0;
+            while (count < this.maxBatch) {
+                final int index = ((int)sequence & this.mask);
+                final Runnable task = this.slots.get(index);
+                if (task == null) {
+                    break;
+                }
+                this.slots.lazySet(index, null);
+                sequence++;
+                count++;
+                run(task);
+            }
+            if (count > 0) {
+                this.consumerSequence.lazySet(sequence);
+                idleCount = 0;
+                continue;
+            }
+            if (this.stopped) {
+                if (this.producerSequence.get() == sequence) {
+                    this.consumerSequence.set(sequence);
+                    return;
+                }
+                Thread.yield();
+                continue;
+            }
+            if (blocking && waitStrategy.willPark(idleCount)) {
+                this.sleeping = true;
+                if (this.slots.get((int)sequence & this.mask) == null) {
+                    idleCount = waitStrategy.idle(idleCount);
+                }
+                this.sleeping = false;
+            } else {
+                idleCount = waitStrategy.idle(idleCount);
+            }
+        }
+    }
+
+    private void drainAfterStop() {
+        final Thread thread = this.consumer;
+        if ((thread != null) && (thread != Thread.currentThread())) {
+            LockSupport.unpark(thread);
+            joinUninterruptibly(thread);
+        }
+        synchronized (this.drainLock) {
+            long sequence = this.consumerSequence.get();
+            for (;;) {
+                final int index = ((int)sequence & this.mask);
+                final Runnable task = this.slots.get(index);
+                if (task == null) {
+                    break;
+                }
+                this.slots.lazySet(index, null);
+                sequence++;
+                this.consumerSequence.set(sequence);
+                run(task);
+            }
+        }
+    }
+
+    private static void run(final Runnable task) {
+        try {
+            task.run();
+        } catch (final Throwable exc) {
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+        }
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -31,44 +31,100 @@ import java.util.function.Supplier;
 public final class OpenableScheduledExecutorService extends AbstractOpenable implements ScheduledExecutorService {
 
     private final Supplier<ScheduledExecutorService> executorSupplier;
+    private final ExecutorClosePolicy closePolicy;
+    private final ExecutorMetrics metrics;
+    private final PeriodicCoalescing coalescing;
     private final EmptyOpenable self;
 
+    private volatile ScheduledExecutorService delegate;
     private volatile ScheduledExecutorService executor;
+    private volatile ExecutorCloseReport closeReport;
+    private volatile PeriodicCoalescer coalescer;
 
     OpenableScheduledExecutorService(final Supplier<ScheduledExecutorService> executorSupplier) {
+        this(executorSupplier, ExecutorClosePolicy.awaitTermination());
+    }
+
+    OpenableScheduledExecutorService(final Supplier<ScheduledExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy) {
+        this(executorSupplier, closePolicy, null);
+    }
+
+    OpenableScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final ExecutorMetrics metrics) {
+        this(executorSupplier, closePolicy, metrics, null);
+    }
+
+    OpenableScheduledExecutorService(
+            final Supplier<ScheduledExecutorService> executorSupplier, final ExecutorClosePolicy closePolicy,
+            final ExecutorMetrics metrics, final PeriodicCoalescing coalescing) {
         this.executorSupplier = Preconditions.checkNotNull(executorSupplier, "executorSupplier");
+        this.closePolicy = Preconditions.checkNotNull(closePolicy, "closePolicy");
+        this.metrics = metrics;
+        this.coalescing = coalescing;
         this.self = new EmptyOpenable();
+        this.closeReport = ExecutorCloseReport.NONE;
+    }
+
+    public ExecutorCloseReport getCloseReport() {
+        return this.closeReport;
+    }
+
+    public boolean isInstrumented() {
+        return (this.metrics != null);
+    }
+
+    public ExecutorMetricsSnapshot getMetrics() {
+        Preconditions.checkState(this.metrics != null, "Executor is not instrumented");
+        return this.metrics.snapshot();
+    }
+
+    public boolean isCoalescing() {
+        return (this.coalescing != null);
+    }
+
+    public int getCoalescedGroups() {
+        final PeriodicCoalescer current = this.coalescer;
+        return ((current == null) ? 0 : current.getGroupCount());
     }
 
     @Override
     protected void performInit() {
         final ScheduledExecutorService executorService = Preconditions.checkNotNull(this.executorSupplier.get(), "executor");
         Openables.initAsDependency(executorService, this.self);
-        this.executor = executorService;
+        this.delegate = executorService;
+        this.executor = ((this.metrics == null) ? executorService : new InstrumentedScheduledExecutorService(executorService, this.metrics));
+        this.coalescer = ((this.coalescing == null) ? null : new PeriodicCoalescer(this.executor, this.coalescing));
     }
 
     @Override
     protected void performOpen() {
-        Openables.openAsDependency(this.executor, this.self);
+        Openables.openAsDependency(this.delegate, this.self);
+        if (this.metrics != null) {
+            this.metrics.bind(this.delegate);
+        }
     }
 
     @Override
     protected void performClose() {
-        final ScheduledExecutorService executorService = this.executor;
+        final PeriodicCoalescer currentCoalescer = this.coalescer;
+        this.coalescer = null;
+        if (currentCoalescer != null) {
+            currentCoalescer.cancelAll();
+        }
+        final ScheduledExecutorService executorService = this.delegate;
         this.executor = null;
+        this.delegate = null;
         if (executorService == null) {
             return;
         }
+        if (this.metrics != null) {
+            this.metrics.unbind();
+        }
         if (Openables.isOpenable(executorService)) {
             Openables.closeAsDependency(executorService, this.self);
         } else {
-            executorService.shutdown();
-            while (!executorService.isTerminated()) {
-                try {
-                    executorService.awaitTermination(1, TimeUnit.SECONDS);
-                } catch (final Exception ignored) {
-                }
-            }
+            this.closeReport = this.closePolicy.close(executorService);
         }
     }
 
@@ -149,7 +205,12 @@ public final class OpenableScheduledExecutorService extends AbstractOpenable imp
 
     @Override
     public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
-        return this.getExecutor().scheduleAtFixedRate(command, initialDelay, period, unit);
+        final ScheduledExecutorService scheduledExecutor = this.getExecutor();
+        final PeriodicCoalescer currentCoalescer = this.coalescer;
+        if (currentCoalescer != null) {
+            return currentCoalescer.scheduleAtFixedRate(command, initialDelay, period, unit);
+        }
+        return scheduledExecutor.scheduleAtFixedRate(command, initialDelay, period, unit);
     }
 
     @Override
@@ -0,0 +1,296 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public final class OpenableShardedExecutor extends AbstractOpenable implements Executor {
+
+    private static final int SPINS_BEFORE_PARK = 64;
+
+    private final int shards;
+    private final ThreadFactory threadFactory;
+    private final ThreadLocal<Worker> currentWorker;
+    private final AtomicInteger idleWorkers;
+
+    private volatile Worker[] workers;
+    private volatile boolean stopped;
+
+    OpenableShardedExecutor(final int shards, final ThreadFactory threadFactory) {
+        Preconditions.checkArgument(shards > 0, "Shards must be positive");
+        this.shards = shards;
+        this.threadFactory = Preconditions.checkNotNull(threadFactory, "threadFactory");
+        this.currentWorker = new ThreadLocal<>();
+        this.idleWorkers = new AtomicInteger();
+        this.stopped = true;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Preconditions.checkNotNull(command, "command");
+        this.checkOpen();
+        if (this.stopped) {
+            throw new RejectedExecutionException("Executor is closed");
+        }
+        final Worker[] all = this.workers;
+        final Worker local = this.currentWorker.get();
+        final Worker target;
+        if ((local != null) && (local.executor == this)) {
+            target = local;
+            target.deque.offerLast(command);
+        } else {
+            target = all[ThreadLocalRandom.current().nextInt(all.length)];
+            target.inbox.offer(command);
+        }
+        if (target.parked) {
+            LockSupport.unpark(target.thread);
+        } else if (this.idleWorkers.get() > 0) {
+            this.wakeIdle(all);
+        }
+        if (this.stopped) {
+            this.drainAfterStop();
+        }
+    }
+
+    public int getShardCount() {
+        return this.shards;
+    }
+
+    public long getQueuedTasks() {
+        final Worker[] all = this.workers;
+        if (all == null) {
+            return 0L;
+        }
+        long result = 0L;
+        for (final Worker worker : all) {
+            result += (worker.deque.size() + worker.inbox.size());
+        }
+        return result;
+    }
+
+    public long getStolenTasks() {
+        final Worker[] all = this.workers;
+        if (all == null) {
+            return 0L;
+        }
+        long result = 0L;
+        for (final Worker worker : all) {
+            result += worker.stolen;
+        }
+        return result;
+    }
+
+    @Override
+    protected void performOpen() {
+        final Worker[] newWorkers = new Worker[this.shards];
+        for (int i = 0; i < newWorkers.length; i++) {
+            newWorkers[i] = new Worker(this, i);
+        }
+        for (final Worker worker : newWorkers) {
+            worker.thread = this.threadFactory.newThread(worker);
+        }
+        this.workers = newWorkers;
+        this.stopped = false;
+        for (final Worker worker : newWorkers) {
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    protected void performClose() {
+        this.stopped = true;
+        final Worker[] all = this.workers;
+        if (all == null) {
+            return;
+        }
+        for (final Worker worker : all) {
+            LockSupport.unpark(worker.thread);
+        }
+        final Thread current = Thread.currentThread();
+        for (final Worker worker : all) {
+            if (worker.thread != current) {
+                joinUninterruptibly(worker.thread);
+            }
+        }
+        this.drainAfterStop();
+    }
+
+    private void wakeIdle(final Worker[] all) {
+        final int start = ThreadLocalRandom.current().nextInt(all.length);
+        for (int i = 0; i < all.length; i++) {
+            final Worker worker = all[(start + i) % all.length];
+            if (worker.parked) {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    private Runnable steal(final Worker thief) {
+        final Worker[] all = this.workers;
+        final int start = ThreadLocalRandom.current().nextInt(all.length);
+        for (int i = 0; i < all.length; i++) {
+            final Worker victim = all[(start + i) % all.length];
+            if (victim == thief) {
+                continue;
+            }
+            Runnable task = victim.deque.pollFirst();
+            if (task == null) {
+                task = victim.inbox.poll();
+            }
+            if (task != null) {
+                thief.stolen++;
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasQueuedTasks() {
+        for (final Worker worker : this.workers) {
+            if (!worker.deque.isEmpty() || !worker.inbox.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drainAfterStop() {
+        final Worker[] all = this.workers;
+        if (all == null) {
+            return;
+        }
+        boolean found;
+        do {
+            found = false;
+            for (final Worker worker : all) {
+                Runnable task;
+                while (((task = worker.deque.pollFirst()) != null) || ((task = worker.inbox.poll()) != null)) {
+                    found = true;
+                    run(task);
+                }
+            }
+        } while (found);
+    }
+
+    private static void run(final Runnable task) {
+        try {
+            task.run();
+        } catch (final Throwable exc) {
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, exc);
+        }
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Worker implements Runnable {
+        private final OpenableShardedExecutor executor;
+        private final int index;
+        private final ConcurrentLinkedDeque<Runnable> deque;
+        private final ConcurrentLinkedQueue<Runnable> inbox;
+
+        private Thread thread;
+        private volatile boolean parked;
+        private volatile long stolen;
+
+        private Worker(final OpenableShardedExecutor executor, final int index) {
+            this.executor = executor;
+            this.index = index;
+            this.deque = new ConcurrentLinkedDeque<>();
+            this.inbox = new ConcurrentLinkedQueue<>();
+        }
+
+        @Override
+        public void run() {
+            final OpenableShardedExecutor owner = this.executor;
+            owner.currentWorker.set(this);
+            try {
+                int idle = 0;
+                for (;;) {
+                    Runnable task = this.deque.pollLast();
+                    if (task == null) {
+                        task = this.inbox.poll();
+                    }
+                    if (task == null) {
+                        task = owner.steal(this);
+                    }
+                    if (task != null) {
+                        idle = 0;
+                        OpenableShardedExecutor.run(task);
+                        continue;
+                    }
+                    if (owner.stopped) {
+                        if (!owner.hasQueuedTasks()) {
+                            return;
+                        }
+                        continue;
+                    }
+                    if (idle < SPINS_BEFORE_PARK) {
+                        idle++;
+                        Thread.yield();
+                        continue;
+                    }
+                    this.park(owner);
+                }
+            } finally {
+                owner.currentWorker.remove();
+            }
+        }
+
+        private void park(final OpenableShardedExecutor owner) {
+            this.parked = true;
+            owner.idleWorkers.incrementAndGet();
+            try {
+                if (!owner.stopped && !owner.hasQueuedTasks()) {
+                    LockSupport.park(owner);
+                }
+            } finally {
+                owner.idleWorkers.decrementAndGet();
+                this.parked = false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Worker{index=" + this.index + "}";
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import java.util.Set;
+import java.util.concurrent.*;
+
+final class PeriodicCoalescer {
+
+    private final ScheduledExecutorService executor;
+    private final PeriodicCoalescing coalescing;
+    private final ConcurrentMap<GroupKey, Group> groups;
+    private final long epoch;
+
+    PeriodicCoalescer(final ScheduledExecutorService executor, final PeriodicCoalescing coalescing) {
+        this.executor = executor;
+        this.coalescing = coalescing;
+        this.groups = new ConcurrentHashMap<>();
+        this.epoch = System.nanoTime();
+    }
+
+    ScheduledFuture<?> scheduleAtFixedRate(
+            final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+        if (period <= 0L) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        final long periodNanos = this.coalescing.quantize(unit.toNanos(period));
+        final long slots = this.coalescing.phaseSlots(periodNanos);
+        final long phase = ((slots <= 1L) ? 0L
+                : (ThreadLocalRandom.current().nextLong(slots) * this.coalescing.getGranularityNanos()));
+        final GroupKey key = new GroupKey(periodNanos, phase);
+        final Member member = new Member(command, System.nanoTime() + unit.toNanos(Math.max(0L, initialDelay)));
+        for (;;) {
+            final Group group = this.groups.computeIfAbsent(key, this::newGroup);
+            if (group.add(member)) {
+                return member;
+            }
+        }
+    }
+
+    int getGroupCount() {
+        return this.groups.size();
+    }
+
+    void cancelAll() {
+        for (final Group group : this.groups.values()) {
+            for (final Member member : group.members) {
+                member.cancel(false);
+            }
+        }
+    }
+
+    private Group newGroup(final GroupKey key) {
+        final Group group = new Group(key);
+        final long now = System.nanoTime();
+        final long sinceEpoch = (now - this.epoch - key.phase);
+        final long nextTick = ((Math.floorDiv(sinceEpoch, key.periodNanos) + 1L) * key.periodNanos);
+        group.future = this.executor.scheduleAtFixedRate(
+                group::tick, nextTick - sinceEpoch, key.periodNanos, TimeUnit.NANOSECONDS);
+        return group;
+    }
+
+    private final class Group {
+        private final GroupKey key;
+        private final Set<Member> members;
+
+        private volatile ScheduledFuture<?> future;
+        private boolean dead;
+
+        private Group(final GroupKey key) {
+            this.key = key;
+            this.members = ConcurrentHashMap.newKeySet();
+        }
+
+        private synchronized boolean add(final Member member) {
+            if (this.dead) {
+                return false;
+            }
+            member.group = this;
+            this.members.add(member);
+            return true;
+        }
+
+        private synchronized void remove(final Member member) {
+            if (!this.members.remove(member) || !this.members.isEmpty() || this.dead) {
+                return;
+            }
+            this.dead = true;
+            PeriodicCoalescer.this.groups.remove(this.key, this);
+            final ScheduledFuture<?> tickFuture = this.future;
+            if (tickFuture != null) {
+                tickFuture.cancel(false);
+            }
+        }
+
+        private void tick() {
+            final long now = System.nanoTime();
+            for (final Member member : this.members) {
+                if ((now - member.firstRunNanos) < 0L) {
+                    continue;
+                }
+                if (!member.runPeriodic()) {
+                    this.remove(member);
+                }
+            }
+        }
+
+        private long nanosUntilNextTick() {
+            final ScheduledFuture<?> tickFuture = this.future;
+            return ((tickFuture == null) ? 0L : tickFuture.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static final class Member extends FutureTask<Object> implements ScheduledFuture<Object> {
+        private final long firstRunNanos;
+
+        private volatile Group group;
+
+        private Member(final Runnable command, final long firstRunNanos) {
+            super(command, null);
+            this.firstRunNanos = firstRunNanos;
+        }
+
+        private boolean runPeriodic() {
+            return this.runAndReset();
+        }
+
+        @Override
+        public void run() {
+            this.runPeriodic();
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            final Group current = this.group;
+            if (cancelled && (current != null)) {
+                current.remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            final Group current = this.group;
+            final long untilFirst = (this.firstRunNanos - System.nanoTime());
+            final long untilTick = ((current == null) ? 0L : current.nanosUntilNextTick());
+            return unit.convert(Math.max(untilFirst, untilTick), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static final class GroupKey {
+        private final long periodNanos;
+        private final long phase;
+
+        private GroupKey(final long periodNanos, final long phase) {
+            this.periodNanos = periodNanos;
+            this.phase = phase;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof GroupKey)) {
+                return false;
+            }
+            final GroupKey that = (GroupKey)other;
+            return ((this.periodNanos == that.periodNanos) && (this.phase == that.phase));
+        }
+
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(this.periodNanos) * 31) + Long.hashCode(this.phase);
+        }
+    }
+}
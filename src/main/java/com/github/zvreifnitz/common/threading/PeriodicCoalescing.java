@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+public final class PeriodicCoalescing {
+
+    private final long granularityNanos;
+    private final long maxJitterNanos;
+
+    private PeriodicCoalescing(final long granularityNanos, final long maxJitterNanos) {
+        this.granularityNanos = granularityNanos;
+        this.maxJitterNanos = maxJitterNanos;
+    }
+
+    public static PeriodicCoalescing coalesce(final long granularity, final TimeUnit unit) {
+        return coalesceWithJitter(granularity, 0L, unit);
+    }
+
+    public static PeriodicCoalescing coalesceWithJitter(final long granularity, final long maxJitter, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(granularity > 0L, "Granularity must be positive");
+        Preconditions.checkArgument(maxJitter >= 0L, "Max jitter must not be negative");
+        return new PeriodicCoalescing(unit.toNanos(granularity), unit.toNanos(maxJitter));
+    }
+
+    public long getGranularityNanos() {
+        return this.granularityNanos;
+    }
+
+    public long getMaxJitterNanos() {
+        return this.maxJitterNanos;
+    }
+
+    long quantize(final long periodNanos) {
+        final long rounded = (((periodNanos + (this.granularityNanos / 2L)) / this.granularityNanos) * this.granularityNanos);
+        return Math.max(this.granularityNanos, rounded);
+    }
+
+    long phaseSlots(final long periodNanos) {
+        return Math.max(1L, Math.min(this.maxJitterNanos, periodNanos) / this.granularityNanos);
+    }
+}
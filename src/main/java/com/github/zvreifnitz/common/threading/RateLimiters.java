@@ -0,0 +1,175 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class RateLimiters {
+
+    private RateLimiters() {
+    }
+
+    public static RateLimiter tokenBucket(final long permitsPerSecond, final int burst) {
+        Preconditions.checkArgument(
+                (permitsPerSecond > 0L) && (permitsPerSecond <= TimeUnit.SECONDS.toNanos(1L)),
+                "Permits per second must be between 1 and 1e9, got %s", permitsPerSecond);
+        Preconditions.checkArgument(burst > 0, "Burst must be positive");
+        return new TokenBucket(TimeUnit.SECONDS.toNanos(1L) / permitsPerSecond, burst);
+    }
+
+    public static RateLimiter slidingWindow(final int limit, final long window, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(limit > 0, "Limit must be positive");
+        Preconditions.checkArgument(window > 0L, "Window must be positive");
+        return new SlidingWindow(limit, unit.toNanos(window));
+    }
+
+    private static final class TokenBucket implements RateLimiter {
+        private final long intervalNanos;
+        private final int burst;
+        private final long toleranceNanos;
+        private final AtomicLong theoreticalArrival;
+
+        private TokenBucket(final long intervalNanos, final int burst) {
+            this.intervalNanos = intervalNanos;
+            this.burst = burst;
+            this.toleranceNanos = (intervalNanos * burst);
+            this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        }
+
+        @Override
+        public boolean tryAcquire(final int permits) {
+            checkPermits(permits, this.burst);
+            for (;;) {
+                final long now = System.nanoTime();
+                final long tat = this.theoreticalArrival.get();
+                final long next = (latest(tat, now) + (permits * this.intervalNanos));
+                if ((next - now) > this.toleranceNanos) {
+                    return false;
+                }
+                if (this.theoreticalArrival.compareAndSet(tat, next)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public long nanosUntilAvailable(final int permits) {
+            checkPermits(permits, this.burst);
+            final long now = System.nanoTime();
+            final long next = (latest(this.theoreticalArrival.get(), now) + (permits * this.intervalNanos));
+            return Math.max(0L, next - this.toleranceNanos - now);
+        }
+
+        @Override
+        public int getMaxPermits() {
+            return this.burst;
+        }
+
+        private static long latest(final long left, final long right) {
+            return (((left - right) > 0L) ? left : right);
+        }
+    }
+
+    private static final class SlidingWindow implements RateLimiter {
+        private final int limit;
+        private final long windowNanos;
+        private final long origin;
+        private final AtomicReference<Window> current;
+
+        private SlidingWindow(final int limit, final long windowNanos) {
+            this.limit = limit;
+            this.windowNanos = windowNanos;
+            this.origin = System.nanoTime();
+            this.current = new AtomicReference<>(new Window(0L, 0, 0));
+        }
+
+        @Override
+        public boolean tryAcquire(final int permits) {
+            checkPermits(permits, this.limit);
+            for (;;) {
+                final long elapsed = (System.nanoTime() - this.origin);
+                final Window observed = this.current.get();
+                final Window window = this.roll(observed, elapsed / this.windowNanos);
+                if ((this.estimate(window, elapsed) + permits) > this.limit) {
+                    return false;
+                }
+                if (this.current.compareAndSet(observed, new Window(window.index, window.previous, window.count + permits))) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public long nanosUntilAvailable(final int permits) {
+            checkPermits(permits, this.limit);
+            final long elapsed = (System.nanoTime() - this.origin);
+            final Window window = this.roll(this.current.get(), elapsed / this.windowNanos);
+            if ((this.estimate(window, elapsed) + permits) <= this.limit) {
+                return 0L;
+            }
+            final long windowEnd = ((window.index + 1L) * this.windowNanos);
+            if ((window.count + permits) > this.limit) {
+                return (windowEnd - elapsed);
+            }
+            final double fraction = (1.0d - ((double)(this.limit - window.count - permits) / window.previous));
+            final long target = ((window.index * this.windowNanos) + (long)Math.ceil(fraction * this.windowNanos));
+            return Math.max(1L, target - elapsed);
+        }
+
+        @Override
+        public int getMaxPermits() {
+            return this.limit;
+        }
+
+        private Window roll(final Window window, final long index) {
+            if (window.index >= index) {
+                return window;
+            }
+            if (window.index == (index - 1L)) {
+                return new Window(index, window.count, 0);
+            }
+            return new Window(index, 0, 0);
+        }
+
+        private double estimate(final Window window, final long elapsed) {
+            final double fraction = ((double)(elapsed - (window.index * this.windowNanos)) / this.windowNanos);
+            return ((window.previous * (1.0d - fraction)) + window.count);
+        }
+    }
+
+    private static final class Window {
+        private final long index;
+        private final int previous;
+        private final int count;
+
+        private Window(final long index, final int previous, final int count) {
+            this.index = index;
+            this.previous = previous;
+            this.count = count;
+        }
+    }
+
+    private static void checkPermits(final int permits, final int maxPermits) {
+        Preconditions.checkArgument((permits > 0) && (permits <= maxPermits), "Permits must be between 1 and %s", maxPermits);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import com.github.zvreifnitz.common.lifecycle.LifecycleTimer;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class TaskScope implements AutoCloseable {
+
+    private static final ReferenceQueue<TaskScope> ABANDONED = new ReferenceQueue<>();
+
+    private final AbstractOpenable owner;
+    private final Executor executor;
+    private final Set<ScopedTask<?>> outstanding;
+    private final CloseListener closeListener;
+
+    private volatile boolean closed;
+
+    TaskScope(final AbstractOpenable owner, final Executor executor) {
+        this.owner = Preconditions.checkNotNull(owner, "owner");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.outstanding = ConcurrentHashMap.newKeySet();
+        purgeAbandoned();
+        this.closeListener = new CloseListener(this, owner);
+        owner.addCloseListener(this.closeListener);
+    }
+
+    public <T> CompletableFuture<List<T>> all(
+            final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(tasks, "tasks");
+        return this.fork(tasks, tasks.size(), true, timeout, unit);
+    }
+
+    public <T> CompletableFuture<T> any(
+            final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(tasks, "tasks");
+        Preconditions.checkArgument(!tasks.isEmpty(), "Tasks must not be empty");
+        return this.fork(tasks, 1, false, timeout, unit).thenApply(results -> results.get(0));
+    }
+
+    public <T> CompletableFuture<List<T>> firstN(
+            final int count, final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(tasks, "tasks");
+        Preconditions.checkArgument((count > 0) && (count <= tasks.size()), "Count must be between 1 and %s", tasks.size());
+        return this.fork(tasks, count, false, timeout, unit);
+    }
+
+    public int getOutstandingTasks() {
+        return this.outstanding.size();
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() {
+        this.owner.removeCloseListener(this.closeListener);
+        this.cancelOutstanding();
+    }
+
+    private void cancelOutstanding() {
+        this.closed = true;
+        for (final ScopedTask<?> task : this.outstanding) {
+            task.cancel(true);
+        }
+    }
+
+    private <T> CompletableFuture<List<T>> fork(
+            final Collection<? extends Callable<T>> tasks, final int required, final boolean ordered,
+            final long timeout, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(timeout > 0L, "Timeout must be positive");
+        Preconditions.checkState(!this.closed, "Task scope is closed");
+        final Join<T> join = new Join<>(tasks.size(), required, ordered);
+        if (required == 0) {
+            join.result.complete(new ArrayList<>(0));
+            return join.result;
+        }
+        int index = 0;
+        for (final Callable<T> task : tasks) {
+            join.tasks[index] = new ScopedTask<>(this, join, index, Preconditions.checkNotNull(task, "task"));
+            index++;
+        }
+        final ScheduledFuture<?> timer = LifecycleTimer.schedule(
+                () -> join.result.completeExceptionally(
+                        new TimeoutException("Task scope did not complete within " + timeout + " " + unit)),
+                timeout, unit);
+        join.result.whenComplete((result, exc) -> {
+            timer.cancel(false);
+            join.cancelAll();
+        });
+        for (final ScopedTask<T> task : join.tasks) {
+            if (join.result.isDone()) {
+                break;
+            }
+            this.outstanding.add(task);
+            if (this.closed) {
+                task.cancel(true);
+                break;
+            }
+            try {
+                this.executor.execute(task);
+            } catch (final RejectedExecutionException exc) {
+                this.outstanding.remove(task);
+                join.result.completeExceptionally(exc);
+                break;
+            }
+        }
+        return join.result;
+    }
+
+    private static final class Join<T> {
+        private final CompletableFuture<List<T>> result;
+        private final ScopedTask<T>[] tasks;
+        private final int required;
+        private final int tolerated;
+        private final boolean ordered;
+        private final AtomicReferenceArray<T> values;
+        private final AtomicInteger successes;
+        private final AtomicInteger stored;
+        private final AtomicInteger failures;
+
+        @SuppressWarnings("unchecked")
+        private Join(final int size, final int required, final boolean ordered) {
+            this.result = new CompletableFuture<>();
+            this.tasks = (ScopedTask<T>[])new ScopedTask<?>[size];
+            this.required = required;
+            this.tolerated = (size - required);
+            this.ordered = ordered;
+            this.values = new AtomicReferenceArray<>(ordered ? size : required);
+            this.successes = new AtomicInteger();
+            this.stored = new AtomicInteger();
+            this.failures = new AtomicInteger();
+        }
+
+        private void onSuccess(final int index, final T value) {
+            final int slot = this.successes.getAndIncrement();
+            if (slot >= this.required) {
+                return;
+            }
+            this.values.set(this.ordered ? index : slot, value);
+            if (this.stored.incrementAndGet() == this.required) {
+                final List<T> list = new ArrayList<>(this.values.length());
+                for (int i = 0; i < this.values.length(); i++) {
+                    list.add(this.values.get(i));
+                }
+                this.result.complete(list);
+            }
+        }
+
+        private void onFailure(final Throwable exc) {
+            if (this.failures.incrementAndGet() > this.tolerated) {
+                this.result.completeExceptionally(exc);
+            }
+        }
+
+        private void cancelAll() {
+            for (final ScopedTask<T> task : this.tasks) {
+                if (task != null) {
+                    task.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class ScopedTask<T> extends FutureTask<T> {
+        private final TaskScope scope;
+        private final Join<T> join;
+        private final int index;
+
+        private ScopedTask(final TaskScope scope, final Join<T> join, final int index, final Callable<T> callable) {
+            super(callable);
+            this.scope = scope;
+            this.join = join;
+            this.index = index;
+        }
+
+        @Override
+        protected void done() {
+            this.scope.outstanding.remove(this);
+            if (this.join.result.isDone()) {
+                return;
+            }
+            if (this.isCancelled()) {
+                this.join.onFailure(new CancellationException("Task was cancelled"));
+                return;
+            }
+            try {
+                this.join.onSuccess(this.index, this.get());
+            } catch (final ExecutionException exc) {
+                this.join.onFailure(exc.getCause());
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                this.join.onFailure(exc);
+            }
+        }
+    }
+
+    private static void purgeAbandoned() {
+        Reference<? extends TaskScope> reference;
+        while ((reference = ABANDONED.poll()) != null) {
+            final CloseListener listener = (CloseListener)reference;
+            listener.owner.removeCloseListener(listener);
+        }
+    }
+
+    private static final class CloseListener extends WeakReference<TaskScope> implements Runnable {
+        private final AbstractOpenable owner;
+
+        private CloseListener(final TaskScope scope, final AbstractOpenable owner) {
+            super(scope, ABANDONED);
+            this.owner = owner;
+        }
+
+        @Override
+        public void run() {
+            final TaskScope scope = this.get();
+            if (scope != null) {
+                scope.cancelOutstanding();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Exceptions;
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (final ReflectiveOperationException ignored) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    static boolean isSupported() {
+        return (OF_VIRTUAL != null);
+    }
+
+    static ThreadFactory newThreadFactory(final String namePrefix) {
+        Preconditions.checkNotNull(namePrefix, "namePrefix");
+        Preconditions.checkState(isSupported(), "Virtual threads are not supported by this JVM");
+        try {
+            final Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            return (ThreadFactory)FACTORY.invoke(builder);
+        } catch (final InvocationTargetException exc) {
+            return Exceptions.throwUnchecked(exc.getCause());
+        } catch (final ReflectiveOperationException exc) {
+            return Exceptions.throwUnchecked(exc);
+        }
+    }
+
+    static ExecutorService newThreadPerTaskExecutor(final String namePrefix) {
+        final ThreadFactory threadFactory = newThreadFactory(namePrefix);
+        try {
+            return (ExecutorService)NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (final InvocationTargetException exc) {
+            return Exceptions.throwUnchecked(exc.getCause());
+        } catch (final ReflectiveOperationException exc) {
+            return Exceptions.throwUnchecked(exc);
+        }
+    }
+}
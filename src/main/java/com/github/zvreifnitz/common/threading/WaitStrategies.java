@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.utils.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public final class WaitStrategies {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    private static final WaitStrategy BUSY_SPIN = new BusySpin();
+    private static final WaitStrategy YIELDING = new Yielding();
+
+    public static WaitStrategy busySpin() {
+        return BUSY_SPIN;
+    }
+
+    public static WaitStrategy yielding() {
+        return YIELDING;
+    }
+
+    public static WaitStrategy parking(final long maxPark, final TimeUnit unit) {
+        Preconditions.checkNotNull(unit, "unit");
+        Preconditions.checkArgument(maxPark > 0L, "Max park must be positive");
+        return new Parking(unit.toNanos(maxPark));
+    }
+
+    private static final class BusySpin implements WaitStrategy {
+        @Override
+        public int idle(final int idleCount) {
+            return (idleCount + 1);
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+    }
+
+    private static final class Yielding implements WaitStrategy {
+        @Override
+        public int idle(final int idleCount) {
+            if (idleCount >= SPIN_TRIES) {
+                Thread.yield();
+                return idleCount;
+            }
+            return (idleCount + 1);
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+    }
+
+    private static final class Parking implements WaitStrategy {
+        private final long maxParkNanos;
+
+        private Parking(final long maxParkNanos) {
+            this.maxParkNanos = maxParkNanos;
+        }
+
+        @Override
+        public int idle(final int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                return (idleCount + 1);
+            }
+            if (idleCount < (SPIN_TRIES + YIELD_TRIES)) {
+                Thread.yield();
+                return (idleCount + 1);
+            }
+            LockSupport.parkNanos(this, this.maxParkNanos);
+            return idleCount;
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return true;
+        }
+
+        @Override
+        public boolean willPark(final int idleCount) {
+            return (idleCount >= (SPIN_TRIES + YIELD_TRIES));
+        }
+    }
+}
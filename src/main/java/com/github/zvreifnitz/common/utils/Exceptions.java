@@ -19,6 +19,14 @@ package com.github.zvreifnitz.common.utils;
 
 public final class Exceptions {
 
+    public static final String STACKLESS_PROPERTY = "com.github.zvreifnitz.common.stacklessExceptions";
+
+    private static final boolean STACKLESS = Boolean.getBoolean(STACKLESS_PROPERTY);
+
+    public static boolean isStacklessEnabled() {
+        return STACKLESS;
+    }
+
     public static <T> T throwUnchecked(final Throwable throwable) {
         if (throwable instanceof Error) {
             throw (Error)throwable;
@@ -33,10 +41,21 @@ public final class Exceptions {
         throw new NullPointerException("Argument '" + argName + "' is null");
     }
 
+    public static <T> T throwIllegalArgumentException(final String msg) {
+        throw new IllegalArgumentException(msg);
+    }
+
     public static <T> T throwIllegalStateException(final String msg) {
         throw new IllegalStateException(msg);
     }
 
+    public static <T> T throwExpectedIllegalStateException(final String msg) {
+        if (STACKLESS) {
+            throw new StacklessIllegalStateException(msg);
+        }
+        throw new IllegalStateException(msg);
+    }
+
     public static <T> T throwRuntimeException(final String msg) {
         throw new RuntimeException(msg);
     }
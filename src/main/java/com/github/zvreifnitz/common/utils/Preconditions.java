@@ -17,15 +17,112 @@
 
 package com.github.zvreifnitz.common.utils;
 
+import java.util.concurrent.TimeUnit;
+
 public final class Preconditions {
 
     public static <T> T checkNotNull(final T arg, final String argName) {
         return ((arg == null) ? Exceptions.throwNullPointerException(argName) : arg);
     }
 
+    public static void checkArgument(final boolean condition, final String msg) {
+        if (!condition) {
+            Exceptions.throwIllegalArgumentException(msg);
+        }
+    }
+
+    public static void checkArgument(final boolean condition, final String template, final Object arg) {
+        if (!condition) {
+            Exceptions.throwIllegalArgumentException(format(template, arg));
+        }
+    }
+
+    public static void checkArgument(final boolean condition, final String template, final long arg) {
+        if (!condition) {
+            Exceptions.throwIllegalArgumentException(format(template, arg));
+        }
+    }
+
+    public static void checkArgument(final boolean condition, final String template, final Object arg1, final Object arg2) {
+        if (!condition) {
+            Exceptions.throwIllegalArgumentException(format(template, arg1, arg2));
+        }
+    }
+
+    public static void checkArgument(final boolean condition, final String template, final Object arg1, final long arg2) {
+        if (!condition) {
+            Exceptions.throwIllegalArgumentException(format(template, arg1, arg2));
+        }
+    }
+
+    public static void checkArgument(final boolean condition, final String template, final long arg1, final long arg2) {
+        if (!condition) {
+            Exceptions.throwIllegalArgumentException(format(template, arg1, arg2));
+        }
+    }
+
     public static void checkState(final boolean condition, final String msg) {
         if (!condition) {
             Exceptions.throwIllegalStateException(msg);
         }
     }
+
+    public static void checkState(final boolean condition, final String template, final Object arg) {
+        if (!condition) {
+            Exceptions.throwIllegalStateException(format(template, arg));
+        }
+    }
+
+    public static void checkState(final boolean condition, final String template, final long arg) {
+        if (!condition) {
+            Exceptions.throwIllegalStateException(format(template, arg));
+        }
+    }
+
+    public static void checkState(final boolean condition, final String template, final Object arg1, final Object arg2) {
+        if (!condition) {
+            Exceptions.throwIllegalStateException(format(template, arg1, arg2));
+        }
+    }
+
+    public static void checkState(final boolean condition, final String template, final Object arg1, final long arg2) {
+        if (!condition) {
+            Exceptions.throwIllegalStateException(format(template, arg1, arg2));
+        }
+    }
+
+    public static void checkState(final boolean condition, final String template, final long arg1, final long arg2) {
+        if (!condition) {
+            Exceptions.throwIllegalStateException(format(template, arg1, arg2));
+        }
+    }
+
+    public static void checkTimeout(final long timeout, final TimeUnit unit) {
+        checkNotNull(unit, "unit");
+        checkArgument(timeout > 0L, "Timeout must be positive");
+    }
+
+    static String format(final String template, final Object... args) {
+        final String pattern = String.valueOf(template);
+        final StringBuilder sb = new StringBuilder(pattern.length() + (16 * args.length));
+        int start = 0;
+        int i = 0;
+        while (i < args.length) {
+            final int index = pattern.indexOf("%s", start);
+            if (index < 0) {
+                break;
+            }
+            sb.append(pattern, start, index).append(args[i++]);
+            start = (index + 2);
+        }
+        sb.append(pattern, start, pattern.length());
+        if (i < args.length) {
+            sb.append(" [").append(args[i++]);
+            while (i < args.length) {
+                sb.append(", ").append(args[i++]);
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
 }
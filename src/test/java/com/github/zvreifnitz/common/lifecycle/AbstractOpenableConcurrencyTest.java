@@ -0,0 +1,162 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractOpenableConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OWNERS = 4;
+    private static final int ROUNDS = 2000;
+
+    @Test(timeout = 60000L)
+    public void concurrentInitOpenCloseAcrossSharedOwnersKeepsCountersConsistent() throws Exception {
+        final Counting dependency = new Counting();
+        final Counting openable = new Counting(dependency);
+        final EmptyOpenable[] owners = new EmptyOpenable[OWNERS];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new EmptyOpenable();
+        }
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final EmptyOpenable owner = owners[t % OWNERS];
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    for (int i = 0; i < ROUNDS; i++) {
+                        openable.initAsDependency(owner);
+                        openable.openAsDependency(owner);
+                        openable.isOpenAsDependency(owner);
+                        openable.closeAsDependency(owner);
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+        }
+        assertCounters(openable);
+        assertCounters(dependency);
+        for (final EmptyOpenable owner : owners) {
+            assertTrue(openable.isInitAsDependency(owner));
+            assertFalse(openable.isOpenAsDependency(owner));
+            assertFalse(dependency.isOpenAsDependency(owner));
+        }
+    }
+
+    @Test(timeout = 60000L)
+    public void closeOfOneOwnerDoesNotCloseWhileOtherOwnersAreOpen() throws Exception {
+        final Counting openable = new Counting();
+        final EmptyOpenable holder = new EmptyOpenable();
+        openable.initAsDependency(holder);
+        openable.openAsDependency(holder);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ROUNDS; i++) {
+                        final EmptyOpenable owner = new EmptyOpenable();
+                        openable.initAsDependency(owner);
+                        openable.openAsDependency(owner);
+                        openable.closeAsDependency(owner);
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+        }
+        assertEquals(1, openable.inits.get());
+        assertEquals(1, openable.opens.get());
+        assertEquals(0, openable.closes.get());
+        assertEquals(0, openable.violations.get());
+        assertTrue(openable.isOpenAsDependency(holder));
+        openable.closeAsDependency(holder);
+        assertEquals(1, openable.closes.get());
+        assertFalse(openable.isOpenAsDependency(holder));
+    }
+
+    private static void assertCounters(final Counting openable) {
+        assertEquals(0, openable.violations.get());
+        assertEquals(1, openable.inits.get());
+        assertTrue(openable.opens.get() >= 1);
+        assertEquals(openable.opens.get(), openable.closes.get());
+        assertFalse(openable.running);
+    }
+
+    private static final class Counting extends AbstractOpenable {
+        private final AtomicInteger inits = new AtomicInteger();
+        private final AtomicInteger opens = new AtomicInteger();
+        private final AtomicInteger closes = new AtomicInteger();
+        private final AtomicInteger violations = new AtomicInteger();
+
+        private volatile boolean running;
+
+        private Counting(final Openable... dependencies) {
+            super(dependencies);
+        }
+
+        @Override
+        protected void performInit() {
+            this.inits.incrementAndGet();
+        }
+
+        @Override
+        protected void performOpen() {
+            if (this.running) {
+                this.violations.incrementAndGet();
+            }
+            this.running = true;
+            this.opens.incrementAndGet();
+        }
+
+        @Override
+        protected void performClose() {
+            if (!this.running) {
+                this.violations.incrementAndGet();
+            }
+            this.running = false;
+            this.closes.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IdleCloseTest {
+
+    @Test(timeout = 10000L)
+    public void idleCloseRunsOffTheLifecycleTimer() throws Exception {
+        final CountDownLatch closing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Idle idle = new Idle(OpenMode.idleClose(20L, TimeUnit.MILLISECONDS), () -> {
+            closing.countDown();
+            release.await();
+        });
+        idle.init();
+        idle.open();
+        idle.acquireUse().close();
+        try {
+            assertTrue(closing.await(5L, TimeUnit.SECONDS));
+            final CountDownLatch fired = new CountDownLatch(1);
+            LifecycleTimer.schedule(fired::countDown, 1L, TimeUnit.MILLISECONDS);
+            assertTrue(fired.await(5L, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            idle.close();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void activeUseBlocksIdleClose() throws Exception {
+        final Idle idle = new Idle(OpenMode.idleClose(20L, TimeUnit.MILLISECONDS), null);
+        idle.init();
+        idle.open();
+        try {
+            final AbstractOpenable.ActiveUse activeUse = idle.acquireUse();
+            assertEquals(1, idle.getActiveUses());
+            Thread.sleep(200L);
+            assertTrue(idle.isActive());
+            assertEquals(0, idle.closes.get());
+            activeUse.close();
+            activeUse.close();
+            assertEquals(0, idle.getActiveUses());
+            while (idle.isActive()) {
+                Thread.sleep(5L);
+            }
+            assertEquals(1, idle.closes.get());
+            try (final AbstractOpenable.ActiveUse reopened = idle.acquireUse()) {
+                assertTrue(idle.isActive());
+                assertEquals(2, idle.opens.get());
+            }
+        } finally {
+            idle.close();
+        }
+        assertFalse(idle.isOpen());
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private static final class Idle extends AbstractOpenable {
+        private final Action onClose;
+        private final AtomicInteger opens = new AtomicInteger();
+        private final AtomicInteger closes = new AtomicInteger();
+
+        private Idle(final OpenMode openMode, final Action onClose) {
+            super(openMode);
+            this.onClose = onClose;
+        }
+
+        @Override
+        protected void performOpen() {
+            this.opens.incrementAndGet();
+        }
+
+        @Override
+        protected void performClose() {
+            this.closes.incrementAndGet();
+            if (this.onClose != null) {
+                try {
+                    this.onClose.run();
+                } catch (final Exception exc) {
+                    throw new IllegalStateException(exc);
+                }
+            }
+        }
+    }
+}
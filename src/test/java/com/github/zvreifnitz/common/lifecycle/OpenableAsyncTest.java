@@ -0,0 +1,157 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OpenableAsyncTest {
+
+    @Test(timeout = 10000L)
+    public void defaultAsyncMethodsRunSyncLifecycleOnExecutor() throws Exception {
+        final Plain openable = new Plain(null);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            openable.initAsync(executor, 1L, TimeUnit.SECONDS).get();
+            assertTrue(openable.isInit());
+            openable.openAsync(executor, 1L, TimeUnit.SECONDS).get();
+            assertTrue(openable.isOpen());
+            openable.closeAsync(executor, 1L, TimeUnit.SECONDS).get();
+            assertFalse(openable.isOpen());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void defaultAsyncMethodsHonourDeadline() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Plain openable = new Plain(release);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<Void> future = openable.openAsync(executor, 50L, TimeUnit.MILLISECONDS);
+            try {
+                future.get();
+                fail("Expected timeout");
+            } catch (final ExecutionException exc) {
+                assertTrue(exc.getCause() instanceof TimeoutException);
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void expiredNodeIsInterrupted() throws Exception {
+        final Plain openable = new Plain(new CountDownLatch(1));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<Void> future = openable.openAsync(executor, 50L, TimeUnit.MILLISECONDS);
+            try {
+                future.get();
+                fail("Expected timeout");
+            } catch (final ExecutionException exc) {
+                assertTrue(exc.getCause() instanceof TimeoutException);
+            }
+            assertFalse(executor.submit(() -> Thread.currentThread().isInterrupted()).get());
+            assertTrue(openable.isOpen());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Plain implements Openable {
+        private final CountDownLatch openGate;
+
+        private volatile boolean init;
+        private volatile boolean open;
+
+        private Plain(final CountDownLatch openGate) {
+            this.openGate = openGate;
+        }
+
+        @Override
+        public boolean isInit() {
+            return this.init;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.open;
+        }
+
+        @Override
+        public void init() {
+            this.init = true;
+        }
+
+        @Override
+        public void open() {
+            if (this.openGate != null) {
+                try {
+                    this.openGate.await();
+                } catch (final InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.open = true;
+        }
+
+        @Override
+        public void close() {
+            this.open = false;
+        }
+
+        @Override
+        public boolean isInitAsDependency(final Openable owner) {
+            return this.init;
+        }
+
+        @Override
+        public boolean isOpenAsDependency(final Openable owner) {
+            return this.open;
+        }
+
+        @Override
+        public void initAsDependency(final Openable owner) {
+            this.init();
+        }
+
+        @Override
+        public void openAsDependency(final Openable owner) {
+            this.open();
+        }
+
+        @Override
+        public void closeAsDependency(final Openable owner) {
+            this.close();
+        }
+    }
+}
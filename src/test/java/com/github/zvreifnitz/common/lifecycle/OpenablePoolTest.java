@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OpenablePoolTest {
+
+    @Test(timeout = 10000L)
+    public void maintenanceSurvivesFailingFactoryAndClose() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "openable-pool-test");
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, exc) -> {
+            });
+            return thread;
+        });
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicBoolean reject = new AtomicBoolean();
+        final OpenablePool<SimpleOpenable> pool = new OpenablePool<>(() -> {
+            final int call = calls.incrementAndGet();
+            if ((call > 2) && (call <= 5)) {
+                throw new IllegalStateException("Factory failure " + call);
+            }
+            return new SimpleOpenable(() -> {
+                throw new IllegalStateException("Close failure");
+            });
+        }, 2, 4, scheduler, 10L, 60L, TimeUnit.MILLISECONDS, element -> !reject.get());
+        pool.init();
+        pool.open();
+        try {
+            assertEquals(2, pool.getSize());
+            reject.set(true);
+            while (pool.getEvicted() < 2L) {
+                Thread.sleep(5L);
+            }
+            reject.set(false);
+            while ((pool.getSize() < 2) || (calls.get() <= 5)) {
+                Thread.sleep(5L);
+            }
+            assertTrue(pool.getMaintenanceFailures() >= 3L);
+            assertEquals(2, pool.getSize());
+        } finally {
+            try {
+                pool.close();
+            } catch (final IllegalStateException exc) {
+                assertEquals("Close failure", exc.getMessage());
+            }
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void entryPolledDuringValidationIsReturnedToTheStack() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "openable-pool-test");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final AtomicBoolean block = new AtomicBoolean(true);
+        final CountDownLatch validating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch validated = new CountDownLatch(1);
+        final OpenablePool<SimpleOpenable> pool = new OpenablePool<>(() -> new SimpleOpenable(() -> {
+        }), 1, 1, scheduler, 10L, 60000L, TimeUnit.MILLISECONDS, element -> {
+            if (block.compareAndSet(true, false)) {
+                validating.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                }
+                validated.countDown();
+            }
+            return true;
+        });
+        pool.init();
+        pool.open();
+        try {
+            validating.await();
+            assertNull(this.borrowFromOtherThread(pool, 50L));
+            release.countDown();
+            validated.await();
+            while (pool.getIdle() != 1) {
+                Thread.sleep(1L);
+            }
+            assertEquals(1, pool.getSize());
+            assertNotNull(this.borrowFromOtherThread(pool, 1000L));
+        } finally {
+            pool.close();
+            scheduler.shutdownNow();
+        }
+    }
+
+    private OpenablePool.Lease<SimpleOpenable> borrowFromOtherThread(
+            final OpenablePool<SimpleOpenable> pool, final long timeoutMillis) throws InterruptedException {
+        final AtomicReference<OpenablePool.Lease<SimpleOpenable>> result = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                result.set(pool.tryBorrow(timeoutMillis, TimeUnit.MILLISECONDS));
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        thread.join();
+        final OpenablePool.Lease<SimpleOpenable> lease = result.get();
+        if (lease != null) {
+            lease.close();
+        }
+        return lease;
+    }
+}
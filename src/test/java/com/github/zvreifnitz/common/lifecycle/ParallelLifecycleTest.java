@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelLifecycleTest {
+
+    @Test(timeout = 10000L)
+    public void dependenciesCompleteBeforeDependentsAndSiblingsOverlap() throws Exception {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch[] siblings = {new CountDownLatch(2), new CountDownLatch(2)};
+        final Recording base = new Recording("base", events, null);
+        final Recording left = new Recording("left", events, siblings, base);
+        final Recording right = new Recording("right", events, siblings, base);
+        final Recording root = new Recording("root", events, null, left, right);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            root.init(executor);
+            assertOrdered(events, "init");
+            assertTrue(root.isInit());
+            events.clear();
+            root.open(executor);
+            assertOrdered(events, "open");
+            assertTrue(root.isOpen());
+            root.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertOrdered(final List<String> events, final String phase) {
+        assertEquals(8, events.size());
+        assertEquals("start " + phase + " base", events.get(0));
+        assertEquals("end " + phase + " base", events.get(1));
+        assertTrue(events.subList(2, 4).contains("start " + phase + " left"));
+        assertTrue(events.subList(2, 4).contains("start " + phase + " right"));
+        assertTrue(events.subList(4, 6).contains("end " + phase + " left"));
+        assertTrue(events.subList(4, 6).contains("end " + phase + " right"));
+        assertEquals("start " + phase + " root", events.get(6));
+        assertEquals("end " + phase + " root", events.get(7));
+    }
+
+    private static final class Recording extends AbstractOpenable {
+        private final String name;
+        private final List<String> events;
+        private final CountDownLatch[] siblings;
+
+        private Recording(
+                final String name, final List<String> events, final CountDownLatch[] siblings,
+                final Openable... dependencies) {
+            super(dependencies);
+            this.name = name;
+            this.events = events;
+            this.siblings = siblings;
+        }
+
+        @Override
+        protected void performInit() {
+            this.record("init");
+        }
+
+        @Override
+        protected void performOpen() {
+            this.record("open");
+        }
+
+        @Override
+        protected void performClose() {
+        }
+
+        private void record(final String phase) {
+            this.events.add("start " + phase + " " + this.name);
+            if (this.siblings != null) {
+                this.awaitSibling(phase);
+            }
+            this.events.add("end " + phase + " " + this.name);
+        }
+
+        private void awaitSibling(final String phase) {
+            final CountDownLatch latch = this.siblings["init".equals(phase) ? 0 : 1];
+            latch.countDown();
+            try {
+                assertTrue("Siblings did not run concurrently", latch.await(5L, TimeUnit.SECONDS));
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
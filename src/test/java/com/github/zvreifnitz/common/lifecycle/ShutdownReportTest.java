@@ -0,0 +1,108 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.lifecycle;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShutdownReportTest {
+
+    @Test(timeout = 10000L)
+    public void reportsFailedTimedOutAndSkippedNodes() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Closing base = new Closing("base", null);
+        final Closing failing = new Closing("failing", () -> {
+            throw new IllegalStateException("Close failure");
+        });
+        final Closing slow = new Closing("slow", () -> {
+            try {
+                release.await();
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        }, base);
+        final Closing root = new Closing("root", null, failing, slow);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            root.init();
+            root.open();
+            final ShutdownReport report = root.shutdown(executor, 200L, TimeUnit.MILLISECONDS);
+            assertFalse(report.isComplete());
+            assertEquals(4, report.getNodes().size());
+            assertNode(report.getFailed(), "failing");
+            assertEquals("Close failure", report.getFailed().get(0).getFailure().getMessage());
+            assertNode(report.getTimedOut(), "slow");
+            assertNode(report.getSkipped(), "base");
+            for (final ShutdownNodeReport node : report.getNodes()) {
+                if ("root".equals(node.getName())) {
+                    assertEquals(ShutdownStatus.CLOSED, node.getStatus());
+                }
+            }
+            assertTrue(report.getWallNanos() >= TimeUnit.MILLISECONDS.toNanos(200L));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertNode(final List<ShutdownNodeReport> nodes, final String name) {
+        assertEquals(nodes.toString(), 1, nodes.size());
+        assertEquals(name, nodes.get(0).getName());
+    }
+
+    private static final class Closing extends AbstractOpenable {
+        private final String name;
+        private final Runnable onClose;
+
+        private Closing(final String name, final Runnable onClose, final Openable... dependencies) {
+            super(dependencies);
+            this.name = name;
+            this.onClose = onClose;
+        }
+
+        @Override
+        protected void performInit() {
+        }
+
+        @Override
+        protected void performOpen() {
+        }
+
+        @Override
+        protected void performClose() {
+            if (this.onClose != null) {
+                this.onClose.run();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.memory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OpenableBufferPoolTest {
+
+    @Test(timeout = 10000L)
+    public void reclaimsCachedBuffersOfDeadThreads() throws Exception {
+        final OpenableBufferPool pool = new OpenableBufferPool(1024, 1024, 4096, 4096L, 8, false);
+        pool.init();
+        pool.open();
+        try {
+            for (int round = 0; round < 3; round++) {
+                final Thread thread = new Thread(() -> {
+                    final List<OpenableBufferPool.PooledBuffer> buffers = new ArrayList<>();
+                    for (int i = 0; i < 4; i++) {
+                        final OpenableBufferPool.PooledBuffer buffer = pool.acquire(1024);
+                        assertTrue(buffer.isPooled());
+                        buffers.add(buffer);
+                    }
+                    for (final OpenableBufferPool.PooledBuffer buffer : buffers) {
+                        buffer.release();
+                    }
+                });
+                thread.start();
+                thread.join();
+            }
+            final OpenableBufferPool.PooledBuffer buffer = pool.acquire(1024);
+            assertTrue(buffer.isPooled());
+            buffer.release();
+            assertEquals(0L, pool.getUnpooledAllocations());
+            assertEquals(4096L, pool.getPooledBytes());
+        } finally {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptivePoolControllerTest {
+
+    private static final int CORES = 8;
+    private static final double CPU_SECONDS = 0.001;
+    private static final double BLOCKED_SECONDS = 0.003;
+    private static final int OPTIMAL_THREADS = (int)(CORES * (CPU_SECONDS + BLOCKED_SECONDS) / CPU_SECONDS);
+
+    @Test
+    public void convergesToOptimalSizeAcrossLoadPhases() {
+        final AdaptivePoolSizing sizing = AdaptivePoolSizing.hillClimbing(
+                2, 256, 1L, TimeUnit.SECONDS, 10L, TimeUnit.MILLISECONDS);
+        final AdaptivePoolController controller = sizing.newController();
+        final double[] arrivalRates = {1_000.0, 12_000.0, 6_000.0, 500.0};
+        final int[] durations = {120, 60, 300, 300};
+        int size = sizing.getMinThreads();
+        double queue = 0.0;
+        for (int phase = 0; phase < arrivalRates.length; phase++) {
+            final double arrivals = arrivalRates[phase];
+            for (int second = 0; second < durations[phase]; second++) {
+                final double served = Math.min(capacity(size), queue + arrivals);
+                queue = Math.max(0.0, queue + arrivals - served);
+                final long meanWaitNanos = ((served <= 0.0) ? 0L : (long)(queue / served * 1_000_000_000L));
+                final int active = (int)Math.min(size, Math.ceil(served * (CPU_SECONDS + BLOCKED_SECONDS)));
+                size = controller.nextSize(size, active, (long)queue, served, meanWaitNanos);
+            }
+            final int expected = ((arrivals > capacity(OPTIMAL_THREADS))
+                    ? OPTIMAL_THREADS
+                    : Math.max(sizing.getMinThreads(), (int)Math.ceil(arrivals * (CPU_SECONDS + BLOCKED_SECONDS))));
+            assertTrue("phase " + phase + ": threads=" + size + " expected~" + expected,
+                    Math.abs(size - expected) <= Math.max(4, expected / 4));
+        }
+    }
+
+    @Test
+    public void staysWithinBounds() {
+        final AdaptivePoolController controller = new AdaptivePoolController(2, 16, 4, TimeUnit.MILLISECONDS.toNanos(10L));
+        int size = 2;
+        for (int i = 0; i < 100; i++) {
+            size = controller.nextSize(size, size, 1_000L, 100.0 + i, TimeUnit.SECONDS.toNanos(1L));
+            assertTrue(size <= 16);
+        }
+        for (int i = 0; i < 100; i++) {
+            size = controller.nextSize(size, 0, 0L, 0.0, 0L);
+            assertTrue(size >= 2);
+        }
+        assertEquals(2, size);
+    }
+
+    private static double capacity(final int threads) {
+        final double unbounded = (threads / (CPU_SECONDS + BLOCKED_SECONDS));
+        final double cpuBound = (CORES / CPU_SECONDS);
+        final double contention = (1.0 - (0.002 * Math.max(0, threads - OPTIMAL_THREADS)));
+        return (Math.min(unbounded, cpuBound) * Math.max(0.1, contention));
+    }
+}
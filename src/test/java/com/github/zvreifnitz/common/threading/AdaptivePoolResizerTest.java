@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptivePoolResizerTest {
+
+    @Test(timeout = 10000L)
+    public void keepsTickingAfterResizeFailures() throws Exception {
+        final AtomicInteger failuresLeft = new AtomicInteger(2);
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void setMaximumPoolSize(final int maximumPoolSize) {
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IllegalArgumentException("Transient resize failure");
+                }
+                super.setMaximumPoolSize(maximumPoolSize);
+            }
+        };
+        final AdaptivePoolResizer resizer = new AdaptivePoolResizer(pool, new ExecutorMetrics("resizer-test"),
+                AdaptivePoolSizing.hillClimbing(4, 8, 5L, TimeUnit.MILLISECONDS, 10L, TimeUnit.MILLISECONDS));
+        try {
+            while (pool.getMaximumPoolSize() != 4) {
+                Thread.sleep(5L);
+            }
+            assertEquals(4, pool.getCorePoolSize());
+            assertEquals(2L, resizer.getFailures());
+        } finally {
+            resizer.stop();
+            pool.shutdownNow();
+        }
+    }
+}
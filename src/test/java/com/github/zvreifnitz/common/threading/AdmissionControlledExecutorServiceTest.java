@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdmissionControlledExecutorServiceTest {
+
+    @Test(timeout = 10000L)
+    public void callerRunsTasksAreRecordedInExecutorMetrics() throws Exception {
+        final OpenableExecutorService executor = OpenableExecutors.instrumentedExecutorService(
+                () -> Executors.newFixedThreadPool(1), ExecutorClosePolicy.awaitTermination(),
+                AdmissionPolicy.callerRuns(1), "admission-caller-runs-test");
+        executor.init();
+        executor.open();
+        try {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Future<?> blocker = executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            assertTrue(started.await(5L, TimeUnit.SECONDS));
+            final Future<?> queued = executor.submit(() -> {
+            });
+            final AtomicReference<Thread> runner = new AtomicReference<>();
+            executor.execute(() -> runner.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), runner.get());
+            release.countDown();
+            blocker.get();
+            queued.get();
+            assertEquals(1L, executor.getAdmissionStats().getCallerRunsTasks());
+            assertEquals(3L, executor.getMetrics().getSubmittedTasks());
+            assertEquals(3L, executor.getMetrics().getCompletedTasks());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void shutdownNowUnwrapsQueuedTasksAndReleasesAdmission() throws Exception {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        final AdmissionController controller = new AdmissionController.CallerRuns(2);
+        final AdmissionControlledExecutorService executor = new AdmissionControlledExecutorService(pool, controller, null);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch never = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                never.await();
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        final FutureTask<Void> first = new FutureTask<>(() -> null);
+        final FutureTask<Void> second = new FutureTask<>(() -> null);
+        executor.execute(first);
+        executor.execute(second);
+        assertEquals(AdmissionController.Decision.RUN_ON_CALLER, controller.decide());
+        final List<Runnable> pending = executor.shutdownNow();
+        assertEquals(2, pending.size());
+        assertSame(first, pending.get(0));
+        assertSame(second, pending.get(1));
+        assertEquals(AdmissionController.Decision.ADMIT, controller.decide());
+        assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000L)
+    public void drainThenShutdownNowCancelsAdmittedFutures() throws Exception {
+        final OpenableExecutorService executor = OpenableExecutors.instrumentedExecutorService(
+                () -> new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()),
+                ExecutorClosePolicy.drainThenShutdownNow(50L, 5000L, TimeUnit.MILLISECONDS),
+                AdmissionPolicy.blockWithTimeout(4, 1L, TimeUnit.MILLISECONDS), "admission-close-test");
+        executor.init();
+        executor.open();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch never = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            never.await();
+            return null;
+        });
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        final Future<?> dropped = executor.submit(() -> {
+        });
+        executor.close();
+        assertEquals(1, executor.getCloseReport().getDroppedTasks());
+        try {
+            dropped.get(5L, TimeUnit.SECONDS);
+            fail("Expected cancellation");
+        } catch (final CancellationException exc) {
+            assertTrue(dropped.isCancelled());
+        }
+    }
+}
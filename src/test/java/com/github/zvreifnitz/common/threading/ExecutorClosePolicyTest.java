@@ -0,0 +1,98 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutorClosePolicyTest {
+
+    @Test(timeout = 10000L)
+    public void drainThenShutdownNowReportsDrainedAndDroppedTasks() throws Exception {
+        final OpenableExecutorService executor = OpenableExecutors.openableExecutorService(
+                () -> new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()),
+                ExecutorClosePolicy.drainThenShutdownNow(100L, 5000L, TimeUnit.MILLISECONDS));
+        executor.init();
+        executor.open();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch never = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            never.await();
+            return null;
+        });
+        final Future<?> first = executor.submit(() -> {
+        });
+        final Future<?> second = executor.submit(() -> {
+        });
+        started.await();
+        executor.close();
+        final ExecutorCloseReport report = executor.getCloseReport();
+        assertEquals(1L, report.getDrainedTasks());
+        assertEquals(2, report.getDroppedTasks());
+        assertTrue(report.isTerminated());
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+    }
+
+    @Test(timeout = 10000L)
+    public void drainThenShutdownNowDrainsScheduledExecutorWithinBudget() throws Exception {
+        final ScheduledExecutorService pool = Executors.newScheduledThreadPool(1);
+        final OpenableScheduledExecutorService executor = OpenableExecutors.openableScheduledExecutorService(
+                () -> pool,
+                ExecutorClosePolicy.drainThenShutdownNow(5000L, 5000L, TimeUnit.MILLISECONDS));
+        executor.init();
+        executor.open();
+        final CountDownLatch gate = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                gate.await();
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        final Thread releaser = new Thread(() -> {
+            while (!pool.isShutdown()) {
+                Thread.yield();
+            }
+            gate.countDown();
+        });
+        releaser.start();
+        executor.close();
+        releaser.join();
+        final ExecutorCloseReport report = executor.getCloseReport();
+        assertEquals(3L, report.getDrainedTasks());
+        assertEquals(0, report.getDroppedTasks());
+        assertTrue(report.isTerminated());
+    }
+}
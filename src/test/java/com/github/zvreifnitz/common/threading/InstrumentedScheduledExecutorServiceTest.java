@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InstrumentedScheduledExecutorServiceTest {
+
+    @Test(timeout = 10000L)
+    public void metricsAreReachableFromFactoryResult() throws Exception {
+        final OpenableScheduledExecutorService executor = OpenableExecutors.instrumentedScheduledExecutorService(
+                () -> Executors.newScheduledThreadPool(1), "instrumented-test");
+        executor.init();
+        executor.open();
+        try {
+            assertTrue(executor.isInstrumented());
+            executor.submit(() -> {
+            }).get();
+            executor.schedule(() -> {
+            }, 1L, TimeUnit.MILLISECONDS).get();
+            final ExecutorMetricsSnapshot snapshot = executor.getMetrics();
+            assertEquals("instrumented-test", snapshot.getName());
+            assertEquals(2L, snapshot.getSubmittedTasks());
+        } finally {
+            executor.close();
+        }
+    }
+}
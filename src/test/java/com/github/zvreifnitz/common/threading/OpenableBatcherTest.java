@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OpenableBatcherTest {
+
+    @Test(timeout = 10000L)
+    public void fullBatchIsFlushedBySize() {
+        final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final OpenableBatcher<Integer> batcher = OpenableExecutors.openableBatcher(
+                Runnable::run, scheduler, batches::add, 3, 1L, TimeUnit.HOURS);
+        batcher.init();
+        batcher.open();
+        try {
+            assertTrue(batcher.offer(1));
+            assertTrue(batcher.offer(2));
+            assertTrue(batches.isEmpty());
+            assertTrue(batcher.offer(3));
+            assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), batches);
+            assertEquals(0, batcher.getPending());
+        } finally {
+            batcher.close();
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void partialBatchIsFlushedAfterMaxDelay() throws Exception {
+        final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final OpenableBatcher<Integer> batcher = OpenableExecutors.openableBatcher(
+                Runnable::run, scheduler, batches::add, 100, 20L, TimeUnit.MILLISECONDS);
+        batcher.init();
+        batcher.open();
+        try {
+            assertTrue(batcher.offer(1));
+            assertTrue(batcher.offer(2));
+            while (batches.isEmpty()) {
+                Thread.sleep(5L);
+            }
+            assertEquals(Arrays.asList(Arrays.asList(1, 2)), batches);
+            assertEquals(1L, batcher.getFlushedBatches());
+        } finally {
+            batcher.close();
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void closeFlushesRemainingItems() {
+        final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final OpenableBatcher<Integer> batcher = OpenableExecutors.openableBatcher(
+                Runnable::run, scheduler, batches::add, 100, 1L, TimeUnit.HOURS);
+        batcher.init();
+        batcher.open();
+        try {
+            assertTrue(batcher.offer(1));
+            assertTrue(batcher.offer(2));
+            assertTrue(batches.isEmpty());
+            batcher.close();
+            assertEquals(Arrays.asList(Arrays.asList(1, 2)), batches);
+            assertEquals(2L, batcher.getFlushedItems());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void errorFromSinkDoesNotBlockLaterFlushes() {
+        final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        final AtomicBoolean throwError = new AtomicBoolean(true);
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final OpenableBatcher<Integer> batcher = OpenableExecutors.openableBatcher(Runnable::run, scheduler, batch -> {
+            if (throwError.compareAndSet(true, false)) {
+                throw new AssertionError("Sink error");
+            }
+            batches.add(batch);
+        }, 1, 1L, TimeUnit.HOURS);
+        batcher.init();
+        batcher.open();
+        try {
+            try {
+                batcher.offer(1);
+                fail("Sink error expected");
+            } catch (final AssertionError exc) {
+                assertEquals("Sink error", exc.getMessage());
+            }
+            assertTrue(batcher.offer(2));
+            assertEquals(Arrays.asList(Arrays.asList(2)), batches);
+        } finally {
+            batcher.close();
+            scheduler.shutdownNow();
+        }
+    }
+}
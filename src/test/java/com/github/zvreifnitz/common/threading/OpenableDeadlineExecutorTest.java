@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OpenableDeadlineExecutorTest {
+
+    @Test(timeout = 10000L)
+    public void dropPolicyCancelsExpiredTasks() throws Exception {
+        final OpenableDeadlineExecutor executor = newExecutor(ExpiredTaskPolicy.DROP);
+        try {
+            final CountDownLatch release = block(executor);
+            final Future<Boolean> expired = executor.submitBefore(() -> true, 10L, TimeUnit.MILLISECONDS);
+            final Future<Boolean> timely = executor.submitBefore(OpenableDeadlineExecutor::isRunningLate, 1L, TimeUnit.MINUTES);
+            Thread.sleep(50L);
+            release.countDown();
+            assertFalse(timely.get());
+            assertTrue(expired.isCancelled());
+            assertEquals(1L, executor.getExpiredTasks());
+            assertEquals(0L, executor.getLateTasks());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void runLatePolicyRunsExpiredTasksFlaggedAsLate() throws Exception {
+        final OpenableDeadlineExecutor executor = newExecutor(ExpiredTaskPolicy.RUN_LATE);
+        try {
+            final CountDownLatch release = block(executor);
+            final Future<Boolean> expired = executor.submitBefore(
+                    OpenableDeadlineExecutor::isRunningLate, 10L, TimeUnit.MILLISECONDS);
+            Thread.sleep(50L);
+            release.countDown();
+            assertTrue(expired.get());
+            assertEquals(0L, executor.getExpiredTasks());
+            assertEquals(1L, executor.getLateTasks());
+        } finally {
+            executor.close();
+        }
+    }
+
+    private static OpenableDeadlineExecutor newExecutor(final ExpiredTaskPolicy policy) {
+        final OpenableDeadlineExecutor executor = OpenableExecutors.openableDeadlineExecutor(
+                1, 2, 1L, TimeUnit.MILLISECONDS, policy, Executors.defaultThreadFactory());
+        executor.init();
+        executor.open();
+        return executor;
+    }
+
+    private static CountDownLatch block(final OpenableDeadlineExecutor executor) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        return release;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.AbstractOpenable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+
+public class OpenableExecutorsTest {
+
+    @Test
+    public void builtInComponentsAreNeverIdleClosed() {
+        final List<AbstractOpenable> components = Arrays.asList(
+                OpenableExecutors.openableExecutorService(Executors::newCachedThreadPool),
+                OpenableExecutors.openableScheduledExecutorService(() -> Executors.newScheduledThreadPool(1)),
+                OpenableExecutors.openableKeyedExecutor(Runnable::run),
+                OpenableExecutors.openableRingBufferExecutor(16, WaitStrategies.yielding()),
+                OpenableExecutors.openableShardedExecutor(1),
+                OpenableExecutors.openableDeadlineExecutor(1, 1L, TimeUnit.MILLISECONDS, ExpiredTaskPolicy.DROP));
+        for (final AbstractOpenable component : components) {
+            assertFalse(component.getClass().getSimpleName(), component.getOpenMode().isIdleClose());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OpenableKeyedExecutorTest {
+
+    @Test(timeout = 10000L)
+    public void rejectedScheduleCancelsTasksAcceptedFromOtherProducers() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch reject = new CountDownLatch(1);
+        final OpenableKeyedExecutor executor = OpenableExecutors.openableKeyedExecutor(command -> {
+            entered.countDown();
+            try {
+                reject.await();
+            } catch (final InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RejectedExecutionException("Delegate is saturated");
+        }, 16, 1L, TimeUnit.SECONDS);
+        executor.init();
+        executor.open();
+        final AtomicReference<Throwable> producerFailure = new AtomicReference<>();
+        final Thread producer = new Thread(() -> {
+            try {
+                executor.execute("key", () -> {
+                });
+            } catch (final Throwable exc) {
+                producerFailure.set(exc);
+            }
+        });
+        producer.start();
+        entered.await();
+        final FutureTask<Void> accepted = new FutureTask<>(() -> null);
+        executor.execute("key", accepted);
+        reject.countDown();
+        producer.join();
+        assertTrue(producerFailure.get() instanceof RejectedExecutionException);
+        assertTrue(accepted.isCancelled());
+        assertEquals(1L, executor.getDroppedTasks());
+        assertEquals(0L, executor.getPendingTasks());
+        executor.close();
+    }
+}
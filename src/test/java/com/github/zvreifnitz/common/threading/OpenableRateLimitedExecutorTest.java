@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class OpenableRateLimitedExecutorTest {
+
+    @Test(timeout = 10000L)
+    public void rejectedDeferredTasksAreDroppedAndDrainingContinues() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Executor delegate = command -> {
+            final int call = calls.incrementAndGet();
+            if ((call == 2) || (call == 3)) {
+                throw new RejectedExecutionException("Saturated");
+            }
+            command.run();
+        };
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final OpenableRateLimitedExecutor executor = OpenableExecutors.openableRateLimitedExecutor(
+                delegate, RateLimiters.tokenBucket(50L, 1), scheduler);
+        executor.init();
+        executor.open();
+        try {
+            final AtomicInteger executed = new AtomicInteger();
+            for (int i = 0; i < 6; i++) {
+                executor.execute(executed::incrementAndGet);
+            }
+            while ((executed.get() + executor.getDroppedTasks()) < 6L) {
+                Thread.sleep(5L);
+            }
+            assertEquals(4, executed.get());
+            assertEquals(2L, executor.getDroppedTasks());
+            assertEquals(0, executor.getDeferredTasks());
+            executor.execute(executed::incrementAndGet);
+            while (executed.get() < 5) {
+                Thread.sleep(5L);
+            }
+        } finally {
+            executor.close();
+            scheduler.shutdownNow();
+        }
+    }
+}
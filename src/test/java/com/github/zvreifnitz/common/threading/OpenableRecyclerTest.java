@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class OpenableRecyclerTest {
+
+    @Test(timeout = 10000L)
+    public void handleRecycledOnAnotherThreadReturnsToOwnerPool() throws Exception {
+        final AtomicInteger resets = new AtomicInteger();
+        final OpenableRecycler<StringBuilder> recycler = OpenableExecutors.openableRecycler(
+                OpenableExecutors.openableExecutorService(Executors::newSingleThreadExecutor),
+                StringBuilder::new, builder -> resets.incrementAndGet(), 4);
+        recycler.init();
+        recycler.open();
+        try {
+            final OpenableRecycler.Handle<StringBuilder> handle = recycler.acquire();
+            final Thread thread = new Thread(handle::recycle);
+            thread.start();
+            thread.join();
+            assertEquals(1, resets.get());
+            assertSame(handle.get(), recycler.acquire().get());
+            assertEquals(1L, recycler.getCreated());
+            assertEquals(0L, recycler.getDropped());
+        } finally {
+            recycler.close();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void staleHandleIsDroppedAfterReopen() {
+        final OpenableRecycler<StringBuilder> recycler = OpenableExecutors.openableRecycler(
+                OpenableExecutors.openableExecutorService(Executors::newSingleThreadExecutor), StringBuilder::new, 4);
+        recycler.init();
+        recycler.open();
+        final OpenableRecycler.Handle<StringBuilder> stale = recycler.acquire();
+        final int generation = recycler.getGeneration();
+        recycler.close();
+        recycler.open();
+        try {
+            assertEquals(generation + 2, recycler.getGeneration());
+            stale.recycle();
+            assertEquals(1L, recycler.getDropped());
+            assertNotSame(stale.get(), recycler.acquire().get());
+            assertEquals(2L, recycler.getCreated());
+        } finally {
+            recycler.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class OpenableRingBufferExecutorTest {
+
+    @Test(timeout = 10000L)
+    public void consumerSubmittingToFullRingRunsInline() throws Exception {
+        final OpenableRingBufferExecutor executor = OpenableExecutors.openableRingBufferExecutor(
+                2, 16, WaitStrategies.yielding(), Executors.defaultThreadFactory());
+        executor.init();
+        executor.open();
+        try {
+            final CountDownLatch done = new CountDownLatch(8);
+            executor.execute(() -> {
+                for (int i = 0; i < 8; i++) {
+                    executor.execute(done::countDown);
+                }
+            });
+            assertTrue(done.await(5L, TimeUnit.SECONDS));
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void parkedConsumerIsWokenByPublish() throws Exception {
+        final OpenableRingBufferExecutor executor = OpenableExecutors.openableRingBufferExecutor(
+                8, 16, WaitStrategies.parking(1L, TimeUnit.MINUTES), Executors.defaultThreadFactory());
+        executor.init();
+        executor.open();
+        try {
+            for (int round = 0; round < 20; round++) {
+                Thread.sleep(5L);
+                final CountDownLatch done = new CountDownLatch(1);
+                executor.execute(done::countDown);
+                assertTrue(done.await(5L, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OpenableShardedExecutorTest {
+
+    @Test(timeout = 10000L)
+    public void ownerRunsLocallySubmittedTasksLastInFirstOut() throws Exception {
+        final OpenableShardedExecutor executor = OpenableExecutors.openableShardedExecutor(1);
+        executor.init();
+        executor.open();
+        try {
+            final List<Integer> order = new CopyOnWriteArrayList<>();
+            final CountDownLatch done = new CountDownLatch(3);
+            executor.execute(() -> {
+                for (int i = 1; i <= 3; i++) {
+                    final int id = i;
+                    executor.execute(() -> {
+                        order.add(id);
+                        done.countDown();
+                    });
+                }
+            });
+            assertTrue(done.await(5L, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(3, 2, 1), order);
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test(timeout = 30000L)
+    public void runsEveryForkedTaskAcrossShards() throws Exception {
+        final OpenableShardedExecutor executor = OpenableExecutors.openableShardedExecutor(4);
+        executor.init();
+        executor.open();
+        final int roots = 200;
+        final int children = 50;
+        final AtomicInteger executed = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(roots * children);
+        try {
+            for (int i = 0; i < roots; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < children; j++) {
+                        executor.execute(() -> {
+                            executed.incrementAndGet();
+                            done.countDown();
+                        });
+                    }
+                });
+            }
+            assertTrue(done.await(20L, TimeUnit.SECONDS));
+        } finally {
+            executor.close();
+        }
+        assertEquals(roots * children, executed.get());
+        assertEquals(0L, executor.getQueuedTasks());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.threading;
+
+import org.junit.Test;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PeriodicCoalescerTest {
+
+    @Test(timeout = 10000L)
+    public void memberCancelStopsOnlyThatTaskAndLastMemberCancelsGroupTick() throws Exception {
+        final ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(1);
+        pool.setRemoveOnCancelPolicy(true);
+        final OpenableScheduledExecutorService executor = OpenableExecutors.coalescingScheduledExecutorService(
+                () -> pool, PeriodicCoalescing.coalesce(10L, TimeUnit.MILLISECONDS));
+        executor.init();
+        executor.open();
+        try {
+            final AtomicInteger first = new AtomicInteger();
+            final AtomicInteger second = new AtomicInteger();
+            final ScheduledFuture<?> firstFuture = executor.scheduleAtFixedRate(
+                    first::incrementAndGet, 0L, 20L, TimeUnit.MILLISECONDS);
+            final ScheduledFuture<?> secondFuture = executor.scheduleAtFixedRate(
+                    second::incrementAndGet, 0L, 20L, TimeUnit.MILLISECONDS);
+            assertEquals(1, executor.getCoalescedGroups());
+            assertEquals(1, pool.getQueue().size());
+            while ((first.get() < 2) || (second.get() < 2)) {
+                Thread.sleep(5L);
+            }
+
+            assertTrue(firstFuture.cancel(false));
+            final int stopped = first.get();
+            final int running = second.get();
+            while (second.get() < (running + 3)) {
+                Thread.sleep(5L);
+            }
+            assertTrue(first.get() <= (stopped + 1));
+            assertEquals(1, executor.getCoalescedGroups());
+
+            assertTrue(secondFuture.cancel(false));
+            assertEquals(0, executor.getCoalescedGroups());
+            assertTrue(pool.getQueue().isEmpty());
+        } finally {
+            executor.close();
+        }
+    }
+}
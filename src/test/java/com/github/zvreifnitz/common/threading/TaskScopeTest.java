@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.zvreifnitz.common.threading;
+
+import com.github.zvreifnitz.common.lifecycle.SimpleOpenable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TaskScopeTest {
+
+    private SimpleOpenable owner;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        this.owner = new SimpleOpenable(null);
+        this.owner.init();
+        this.owner.open();
+        this.executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        this.owner.close();
+        this.executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000L)
+    public void allCollectsResultsInOrder() throws Exception {
+        try (final TaskScope scope = OpenableExecutors.taskScope(this.owner, this.executor)) {
+            final List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> 2, () -> 3);
+            assertEquals(Arrays.asList(1, 2, 3), scope.all(tasks, 5L, TimeUnit.SECONDS).get());
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void timesOutOnSharedLifecycleTimer() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        try (final TaskScope scope = OpenableExecutors.taskScope(this.owner, this.executor)) {
+            final CompletableFuture<Object> future = scope.any(
+                    Arrays.<Callable<Object>>asList(() -> {
+                        release.await();
+                        return null;
+                    }), 50L, TimeUnit.MILLISECONDS);
+            assertFailsWith(future, TimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void ownerCloseCancelsOutstandingTasks() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final TaskScope scope = OpenableExecutors.taskScope(this.owner, this.executor);
+        final CompletableFuture<Object> future = scope.any(
+                Arrays.<Callable<Object>>asList(() -> {
+                    started.countDown();
+                    Thread.sleep(60000L);
+                    return null;
+                }), 30L, TimeUnit.SECONDS);
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        this.owner.close();
+        assertTrue(scope.isClosed());
+        try {
+            future.get();
+            fail("Expected cancellation");
+        } catch (final ExecutionException exc) {
+            assertTrue(exc.getCause() instanceof CancellationException);
+        }
+    }
+
+    @Test(timeout = 30000L)
+    public void ownerDoesNotRetainAbandonedScopes() throws Exception {
+        final WeakReference<TaskScope> reference = new WeakReference<>(OpenableExecutors.taskScope(this.owner, this.executor));
+        for (int i = 0; (i < 100) && (reference.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertNull(reference.get());
+        try (final TaskScope scope = OpenableExecutors.taskScope(this.owner, this.executor)) {
+            assertEquals(Arrays.asList(1), scope.all(Arrays.<Callable<Integer>>asList(() -> 1), 5L, TimeUnit.SECONDS).get());
+        }
+    }
+
+    private static void assertFailsWith(final CompletableFuture<?> future, final Class<? extends Throwable> type)
+            throws InterruptedException {
+        try {
+            future.get();
+            fail("Expected " + type.getSimpleName());
+        } catch (final ExecutionException exc) {
+            assertTrue(String.valueOf(exc.getCause()), type.isInstance(exc.getCause()));
+        }
+    }
+}
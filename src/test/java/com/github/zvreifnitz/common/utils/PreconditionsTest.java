@@ -0,0 +1,45 @@
+/*
+ * (C) Copyright 2017 zvreifnitz
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.github.zvreifnitz.common.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PreconditionsTest {
+
+    @Test
+    public void primitiveTwoArgumentTemplatesFormatOnFailure() {
+        try {
+            Preconditions.checkState(false, "Unexpected %s for %s", "value", 42L);
+            fail("Expected IllegalStateException");
+        } catch (final IllegalStateException exc) {
+            assertEquals("Unexpected value for 42", exc.getMessage());
+        }
+        try {
+            Preconditions.checkArgument(false, "Range %s..%s", 1L, 2L);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException exc) {
+            assertEquals("Range 1..2", exc.getMessage());
+        }
+        Preconditions.checkState(true, "Unexpected %s for %s", "value", 42L);
+        Preconditions.checkArgument(true, "Range %s..%s", 1L, 2L);
+    }
+}